@@ -1,16 +1,23 @@
 package com.brandon.burgsbanners;
 
+import com.brandon.burgsbanners.bond.BondRepository;
 import com.brandon.burgsbanners.bond.BondStorage;
 import com.brandon.burgsbanners.bond.BurgBondManager;
+import com.brandon.burgsbanners.bond.SqliteBondRepository;
 import com.brandon.burgsbanners.burg.BurgManager;
 import com.brandon.burgsbanners.burg.food.FoodScanService;
 import com.brandon.burgsbanners.burg.food.FoodScanScheduler;
 import com.brandon.burgsbanners.commands.BurgPropertyCommand;
+import com.brandon.burgsbanners.burg.storage.BurgRepository;
 import com.brandon.burgsbanners.burg.storage.BurgStorage;
+import com.brandon.burgsbanners.burg.storage.SqliteBurgRepository;
+import com.brandon.burgsbanners.burg.storage.SqliteDatabase;
 import com.brandon.burgsbanners.commands.BurgCommand;
 import com.brandon.burgsbanners.commands.BurgTaxCommand;
 import com.brandon.burgsbanners.dynmap.DynmapHook;
+import com.brandon.burgsbanners.listeners.BurgPresenceListener;
 import com.brandon.burgsbanners.listeners.BurgTerritoryListener;
+import com.brandon.burgsbanners.listeners.PlotWorldListener;
 import com.brandon.burgsbanners.mint.CoinsmithAnvilListener;
 import com.brandon.burgsbanners.mint.CoinsmithGUIListener;
 import com.brandon.burgsbanners.mpc.MpcHook;
@@ -23,10 +30,11 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 public final class BurgsAndBannersPlugin extends JavaPlugin {
 
-    private BurgStorage burgStorage;
+    private BurgRepository burgStorage;
     private BurgManager burgManager;
-    private BondStorage bondStorage;
+    private BondRepository bondStorage;
     private BurgBondManager bondManager;
+    private SqliteDatabase database;
 
     private MpcHook mpcHook;
     private FoodScanService foodScanService;
@@ -37,16 +45,27 @@ public final class BurgsAndBannersPlugin extends JavaPlugin {
     public void onEnable() {
         saveDefaultConfig();
 
-        this.burgStorage = new BurgStorage(this);
+        // storage.backend: files (YAML/binary shards + bonds.yml) or sqlite (one embedded database)
+        if ("sqlite".equalsIgnoreCase(getConfig().getString("storage.backend", "files"))) {
+            this.database = new SqliteDatabase(this);
+            this.burgStorage = new SqliteBurgRepository(this, database, new BurgStorage(this));
+            this.bondStorage = new SqliteBondRepository(this, database, new BondStorage(this));
+        } else {
+            this.burgStorage = new BurgStorage(this);
+            this.bondStorage = new BondStorage(this);
+        }
+
         this.burgManager = new BurgManager(this, burgStorage);
 
-        this.bondStorage = new BondStorage(this);
         this.bondManager = new BurgBondManager(this, bondStorage, mpcHook);
         bondManager.loadAll();
+        bondManager.startArchiving();
         bondManager.debugDumpToLog();
 
-        // Load burgs from burgs.yml
+        // Load burgs from the per-burg shards (migrates legacy burgs.yml once)
         burgManager.loadAll();
+        burgManager.startSaving();
+        burgManager.startSnapshots();
 
         // MPC hook (MultiPolarCurrency) - your existing hook
         this.mpcHook = new MultiPolarCurrencyHook(getLogger());
@@ -55,7 +74,7 @@ public final class BurgsAndBannersPlugin extends JavaPlugin {
         this.foodScanService = new FoodScanService(this);
 
         // Schedule global rescan every 3 hours (configurable)
-        this.foodScanScheduler = new FoodScanScheduler(this, burgManager, burgStorage, foodScanService);
+        this.foodScanScheduler = new FoodScanScheduler(this, burgManager, foodScanService);
         this.foodScanScheduler.start();
 
         BurgCommand burgCommand = new BurgCommand(this, burgManager, foodScanService, mpcHook, bondManager);
@@ -105,11 +124,15 @@ public final class BurgsAndBannersPlugin extends JavaPlugin {
         );
         // Territory / claims listener
         getServer().getPluginManager().registerEvents(
-                new com.brandon.burgsbanners.protection.BurgProtectionListener(burgManager),
+                new com.brandon.burgsbanners.protection.BurgProtectionListener(burgManager,
+                        com.brandon.burgsbanners.protection.ProtectedMaterials.build(getConfig(), getLogger()),
+                        com.brandon.burgsbanners.protection.ExplosionPolicy.build(getConfig(), getLogger())),
                 this
         );
 
         getServer().getPluginManager().registerEvents(new BurgTerritoryListener(burgManager), this);
+        getServer().getPluginManager().registerEvents(new BurgPresenceListener(burgManager), this);
+        getServer().getPluginManager().registerEvents(new PlotWorldListener(burgManager), this);
 
         // ✅ Coinsmith (only enable if MPC exists)
         Plugin p = getServer().getPluginManager().getPlugin("MultiPolarCurrency");
@@ -139,11 +162,14 @@ public final class BurgsAndBannersPlugin extends JavaPlugin {
             foodScanScheduler.stop();
         }
         if (burgManager != null) {
-            burgManager.saveAll();
+            burgManager.shutdown();
         }
         if (this.dynmapHook != null) this.dynmapHook.shutdown();
         if (bondManager != null) {
-            bondManager.saveAll();
+            bondManager.shutdown();
+        }
+        if (database != null) {
+            database.close();
         }
     }
     public BurgBondManager getBondManager() {
@@ -99,8 +99,7 @@ public class BurgBellGUIListener implements Listener {
                         0.0,
                         Burg.MAX_SALES_TAX);
 
-                burg.setSalesTaxRate(clamped);
-                burgManager.save(burg);
+                burgManager.setSalesTaxRate(burg, clamped);
 
                 player.sendMessage(Component.text(
                         "Sales tax set to " + fmtPct(clamped) + " for " + burg.getName() + "."));
@@ -122,8 +121,7 @@ public class BurgBellGUIListener implements Listener {
                         0.0,
                         Burg.MAX_MONEYCHANGER_FEE);
 
-                burg.setMoneychangerFeeRate(clamped);
-                burgManager.save(burg);
+                burgManager.setMoneychangerFeeRate(burg, clamped);
 
                 player.sendMessage(Component.text(
                         "Moneychanger fee set to " + fmtPct(clamped) + " for " + burg.getName() + "."));
@@ -228,9 +226,8 @@ public class BurgBellGUIListener implements Listener {
             return;
         }
 
-        plot.setOwnerUuid(buyer.getUniqueId());
-        plot.setForSale(false);
-        burgManager.save(burg);
+        burgManager.setPlotOwner(burg, plot, buyer.getUniqueId());
+        burgManager.setPlotListing(burg, plot, false, plot.getSalePrice(), plot.getSaleCurrencyCode());
 
         buyer.sendMessage(Component.text(
                 "Purchased " + plot.getName() + " [" + plot.getId() + "] for "
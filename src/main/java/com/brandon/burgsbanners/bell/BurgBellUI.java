@@ -64,7 +64,7 @@ public final class BurgBellUI {
                 List.of(Component.text("Set sales tax and moneychanger fee.")),
                 "OPEN_SETTINGS", null, null));
 
-        long listings = burg.getPlots().values().stream().filter(Plot::isForSale).count();
+        long listings = burg.getListedPlotCount();
         inv.setItem(17, button(plugin, Material.OAK_SIGN,
                 Component.text("Property Ledger"),
                 List.of(
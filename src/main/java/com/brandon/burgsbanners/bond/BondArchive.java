@@ -0,0 +1,99 @@
+package com.brandon.burgsbanners.bond;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for redeemed bonds: read-only gzip segments under bonds-archive/.
+ * Each archive pass writes one new segment (segment-<millis>.gz, one journal-format line per
+ * bond) and never touches older ones. Reads stream every segment and are meant for rare,
+ * on-demand history lookups; they run on the bond writer thread.
+ */
+public class BondArchive {
+
+    private static final String DIR = "bonds-archive";
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".gz";
+    private static final String HEADER = "#BurgsAndBanners bond archive v1";
+
+    private final JavaPlugin plugin;
+    private final File dir;
+
+    public BondArchive(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.dir = new File(plugin.getDataFolder(), DIR);
+    }
+
+    /** Writer thread: writes the bonds as one new segment. Returns false if nothing reached disk. */
+    public boolean writeSegment(Collection<BurgBond> bonds) {
+        if (bonds.isEmpty()) return true;
+        if (!dir.exists()) {
+            //noinspection ResultOfMethodCallIgnored
+            dir.mkdirs();
+        }
+
+        File target = new File(dir, PREFIX + System.currentTimeMillis() + SUFFIX);
+        File tmp = new File(dir, target.getName() + ".tmp");
+
+        try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(tmp)), StandardCharsets.UTF_8))) {
+            out.write(HEADER);
+            out.newLine();
+            for (BurgBond bond : bonds) {
+                out.write(BondStorage.encode(bond));
+                out.newLine();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("[Bonds] Could not write archive segment: " + e.getMessage());
+            //noinspection ResultOfMethodCallIgnored
+            tmp.delete();
+            return false;
+        }
+
+        try {
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("[Bonds] Could not finish archive segment " + target.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writer thread: every archived bond matching the filter, oldest issue first.
+     * A bond archived twice (crash between segment write and removal) is reported once.
+     */
+    public List<BurgBond> find(Predicate<BurgBond> filter) {
+        Map<UUID, BurgBond> out = new LinkedHashMap<>();
+
+        File[] segments = dir.listFiles((d, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (segments == null) return new ArrayList<>();
+        Arrays.sort(segments, Comparator.comparing(File::getName));
+
+        for (File segment : segments) {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new FileInputStream(segment)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#")) continue;
+                    BurgBond bond = BondStorage.decode(line);
+                    if (bond != null && filter.test(bond)) out.put(bond.getBondId(), bond);
+                }
+            } catch (IOException e) {
+                plugin.getLogger().warning("[Bonds] Could not read archive segment " + segment.getName() + ": " + e.getMessage());
+            }
+        }
+
+        List<BurgBond> list = new ArrayList<>(out.values());
+        list.sort(Comparator.comparingLong(BurgBond::getIssuedAt));
+        return list;
+    }
+}
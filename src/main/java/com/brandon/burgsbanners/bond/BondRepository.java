@@ -0,0 +1,32 @@
+package com.brandon.burgsbanners.bond;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Where bonds are persisted: {@link BondStorage} (bonds.yml plus bonds.journal) or
+ * {@link SqliteBondRepository} (the bonds table), selected by storage.backend in config.yml.
+ *
+ * Everything except loadAll runs on the bond writer thread and only sees detached copies
+ * (see {@link BondSaveQueue}).
+ */
+public interface BondRepository {
+
+    Map<UUID, BurgBond> loadAll();
+
+    /** Persists every bond and drops any log of earlier changes. */
+    void saveAll(Collection<BurgBond> bonds);
+
+    /** Persists new or changed bonds only: appended to a journal, or upserted as rows. */
+    void saveBonds(Collection<BurgBond> changed);
+
+    /** Removes bonds that moved to the archive. */
+    void deleteBonds(Collection<UUID> bondIds);
+
+    /** True when saveBonds writes a log that saveAll must fold back from time to time. */
+    boolean isJournaled();
+
+    /** Writer thread, on shutdown. */
+    void close();
+}
@@ -0,0 +1,101 @@
+package com.brandon.burgsbanners.bond;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Off-thread bond persistence. save() copies the bond on the main thread and hands the copy to a
+ * single writer, so buying or redeeming a bond never waits on the disk. With a journaled
+ * repository the full bond file is only rewritten once enough changes have piled up.
+ */
+public class BondSaveQueue {
+
+    private final JavaPlugin plugin;
+    private final BondRepository repository;
+    private final BondArchive archive;
+
+    // main thread: journal entries queued since the last full rewrite
+    private int journaledSinceCompaction = 0;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+            r -> new Thread(r, "BurgsAndBanners-BondWriter"));
+
+    public BondSaveQueue(JavaPlugin plugin, BondRepository repository, BondArchive archive) {
+        this.plugin = plugin;
+        this.repository = repository;
+        this.archive = archive;
+    }
+
+    /** Main thread: persist one new or changed bond, compacting when due. */
+    public void save(BurgBond bond, Collection<BurgBond> all) {
+        List<BurgBond> changed = List.of(bond.copy());
+        writer.execute(() -> repository.saveBonds(changed));
+
+        if (!repository.isJournaled()) return;
+        journaledSinceCompaction++;
+
+        int maxEntries = Math.max(1, plugin.getConfig().getInt("storage.journal.bondCompactEntries", 2000));
+        if (journaledSinceCompaction >= maxEntries) saveAll(all);
+    }
+
+    /** Main thread: write copies of these bonds to a new archive segment; completes with false on failure. */
+    public CompletableFuture<Boolean> writeArchive(Collection<BurgBond> redeemed) {
+        List<BurgBond> copies = new ArrayList<>(redeemed.size());
+        for (BurgBond b : redeemed) copies.add(b.copy());
+        return CompletableFuture.supplyAsync(() -> archive.writeSegment(copies), writer);
+    }
+
+    /** Main thread: remove archived bonds from the live store, compacting when due. */
+    public void delete(Collection<UUID> bondIds, Collection<BurgBond> all) {
+        if (bondIds.isEmpty()) return;
+        List<UUID> ids = List.copyOf(bondIds);
+        writer.execute(() -> repository.deleteBonds(ids));
+
+        if (!repository.isJournaled()) return;
+        journaledSinceCompaction += ids.size();
+
+        int maxEntries = Math.max(1, plugin.getConfig().getInt("storage.journal.bondCompactEntries", 2000));
+        if (journaledSinceCompaction >= maxEntries) saveAll(all);
+    }
+
+    /** Any thread: archived bonds matching the filter, read on the writer (after queued archive writes). */
+    public CompletableFuture<List<BurgBond>> findArchived(Predicate<BurgBond> filter) {
+        return CompletableFuture.supplyAsync(() -> archive.find(filter), writer);
+    }
+
+    /** Main thread: queue a full rewrite from copies of every bond. */
+    public void saveAll(Collection<BurgBond> all) {
+        List<BurgBond> copies = new ArrayList<>(all.size());
+        for (BurgBond b : all) copies.add(b.copy());
+        writer.execute(() -> repository.saveAll(copies));
+        journaledSinceCompaction = 0;
+    }
+
+    /** Main thread, on disable: fold the journal if needed, then wait (bounded) for the writer. */
+    public void shutdown(Collection<BurgBond> all) {
+        if (journaledSinceCompaction > 0) saveAll(all);
+        writer.execute(repository::close);
+        writer.shutdown();
+
+        long timeoutSeconds = Math.max(1L, plugin.getConfig().getLong("storage.shutdownFlushSeconds", 10L));
+        try {
+            if (!writer.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                List<Runnable> dropped = writer.shutdownNow();
+                plugin.getLogger().severe("[Bonds] Writer did not finish within " + timeoutSeconds
+                        + "s; " + dropped.size() + " bond save(s) were not written.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            plugin.getLogger().severe("[Bonds] Interrupted while flushing bond saves: " + e.getMessage());
+        }
+    }
+}
@@ -3,73 +3,132 @@ package com.brandon.burgsbanners.bond;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
-public class BondStorage {
+/**
+ * bonds.yml plus bonds.journal. Each issued or changed bond is appended to the journal as one
+ * line holding the whole bond (last line wins on load); archived bonds get a tombstone line.
+ * bonds.yml is only rewritten when the journal is folded back in by saveAll.
+ */
+public class BondStorage implements BondRepository {
+
+    private static final String SEP = "\t";
+    private static final String TOMBSTONE = "-";
 
     private final JavaPlugin plugin;
     private final File file;
+    private final File journalFile;
+
+    // writer thread
+    private BufferedWriter journal;
 
     public BondStorage(JavaPlugin plugin) {
         this.plugin = plugin;
         this.file = new File(plugin.getDataFolder(), "bonds.yml");
+        this.journalFile = new File(plugin.getDataFolder(), "bonds.journal");
     }
 
+    @Override
     public Map<UUID, BurgBond> loadAll() {
         Map<UUID, BurgBond> out = new HashMap<>();
 
-        if (!file.exists()) {
-            return out;
+        if (file.exists()) {
+            YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+
+            if (cfg.isConfigurationSection("bonds")) {
+                for (String key : cfg.getConfigurationSection("bonds").getKeys(false)) {
+                    String path = "bonds." + key + ".";
+
+                    try {
+                        UUID bondId = UUID.fromString(key);
+                        String burgId = cfg.getString(path + "burgId");
+                        UUID ownerUuid = UUID.fromString(cfg.getString(path + "ownerUuid"));
+                        String currency = cfg.getString(path + "currency", "SHEKEL");
+                        long principal = cfg.getLong(path + "principal");
+                        long payout = cfg.getLong(path + "payout");
+                        long issuedAt = cfg.getLong(path + "issuedAt");
+                        long maturesAt = cfg.getLong(path + "maturesAt");
+                        boolean redeemed = cfg.getBoolean(path + "redeemed", false);
+
+                        if (burgId == null) {
+                            plugin.getLogger().warning("[Bonds] Skipping bond " + key + " (missing burgId)");
+                            continue;
+                        }
+
+                        BurgBond bond = new BurgBond(
+                                bondId, burgId, ownerUuid, currency,
+                                principal, payout, issuedAt, maturesAt, redeemed
+                        );
+                        out.put(bondId, bond);
+
+                    } catch (Exception ex) {
+                        plugin.getLogger().warning("[Bonds] Failed to load bond " + key + ": " + ex.getMessage());
+                    }
+                }
+            }
         }
 
-        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+        int replayed = replayJournal(out);
 
-        if (!cfg.isConfigurationSection("bonds")) {
-            return out;
-        }
+        plugin.getLogger().info("[Bonds] Loaded " + out.size() + " bond(s)"
+                + (replayed > 0 ? " (" + replayed + " from bonds.journal)." : "."));
+        return out;
+    }
 
-        for (String key : cfg.getConfigurationSection("bonds").getKeys(false)) {
-            String path = "bonds." + key + ".";
-
-            try {
-                UUID bondId = UUID.fromString(key);
-                String burgId = cfg.getString(path + "burgId");
-                UUID ownerUuid = UUID.fromString(cfg.getString(path + "ownerUuid"));
-                String currency = cfg.getString(path + "currency", "SHEKEL");
-                long principal = cfg.getLong(path + "principal");
-                long payout = cfg.getLong(path + "payout");
-                long issuedAt = cfg.getLong(path + "issuedAt");
-                long maturesAt = cfg.getLong(path + "maturesAt");
-                boolean redeemed = cfg.getBoolean(path + "redeemed", false);
-
-                if (burgId == null) {
-                    plugin.getLogger().warning("[Bonds] Skipping bond " + key + " (missing burgId)");
+    private int replayJournal(Map<UUID, BurgBond> out) {
+        if (!journalFile.exists()) return 0;
+
+        int replayed = 0;
+        int skipped = 0;
+        try (BufferedReader in = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) continue;
+                if (line.startsWith(TOMBSTONE + SEP)) {
+                    try {
+                        out.remove(UUID.fromString(line.substring(2)));
+                        replayed++;
+                    } catch (IllegalArgumentException ex) {
+                        skipped++;
+                    }
                     continue;
                 }
-
-                BurgBond bond = new BurgBond(
-                        bondId, burgId, ownerUuid, currency,
-                        principal, payout, issuedAt, maturesAt, redeemed
-                );
-                out.put(bondId, bond);
-
-            } catch (Exception ex) {
-                plugin.getLogger().warning("[Bonds] Failed to load bond " + key + ": " + ex.getMessage());
+                BurgBond bond = decode(line);
+                if (bond == null) {
+                    skipped++;
+                    continue;
+                }
+                out.put(bond.getBondId(), bond);
+                replayed++;
             }
+        } catch (IOException e) {
+            plugin.getLogger().severe("[Bonds] Failed to read bonds.journal: " + e.getMessage());
         }
 
-        plugin.getLogger().info("[Bonds] Loaded " + out.size() + " bond(s).");
-        return out;
+        if (skipped > 0) {
+            plugin.getLogger().warning("[Bonds] Skipped " + skipped + " damaged line(s) in bonds.journal.");
+        }
+        return replayed;
     }
 
-    public void saveAll(Map<UUID, BurgBond> bonds) {
+    /** Rewrites bonds.yml, then empties the journal it now contains. */
+    @Override
+    public void saveAll(Collection<BurgBond> bonds) {
         YamlConfiguration cfg = new YamlConfiguration();
 
-        for (BurgBond bond : bonds.values()) {
+        for (BurgBond bond : bonds) {
             String path = "bonds." + bond.getBondId() + ".";
             cfg.set(path + "burgId", bond.getBurgId());
             cfg.set(path + "ownerUuid", bond.getOwnerUuid().toString());
@@ -84,7 +143,92 @@ public class BondStorage {
         try {
             cfg.save(file);
         } catch (IOException e) {
+            // keep the journal: it still holds changes bonds.yml is missing
             plugin.getLogger().severe("[Bonds] Could not save bonds.yml: " + e.getMessage());
+            return;
+        }
+
+        close();
+        try {
+            Files.write(journalFile.toPath(), new byte[0]);
+        } catch (IOException e) {
+            plugin.getLogger().severe("[Bonds] Could not truncate bonds.journal: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void saveBonds(Collection<BurgBond> changed) {
+        List<String> lines = new ArrayList<>(changed.size());
+        for (BurgBond bond : changed) lines.add(encode(bond));
+        appendLines(lines);
+    }
+
+    private void appendLines(List<String> lines) {
+        try {
+            if (journal == null) {
+                File parent = journalFile.getParentFile();
+                if (parent != null && !parent.exists()) {
+                    //noinspection ResultOfMethodCallIgnored
+                    parent.mkdirs();
+                }
+                journal = Files.newBufferedWriter(journalFile.toPath(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (String line : lines) {
+                journal.write(line);
+                journal.newLine();
+            }
+            journal.flush();
+        } catch (IOException e) {
+            plugin.getLogger().severe("[Bonds] Could not append to bonds.journal: " + e.getMessage());
+        }
+    }
+
+    /** Archived bonds: a tombstone line each; the next saveAll drops them from bonds.yml. */
+    @Override
+    public void deleteBonds(Collection<UUID> bondIds) {
+        List<String> lines = new ArrayList<>(bondIds.size());
+        for (UUID id : bondIds) lines.add(TOMBSTONE + SEP + id);
+        appendLines(lines);
+    }
+
+    @Override
+    public boolean isJournaled() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("[Bonds] Could not close bonds.journal: " + e.getMessage());
+        }
+        journal = null;
+    }
+
+    // ===== Journal line codec (also used by the archive segments) =====
+
+    static String encode(BurgBond b) {
+        return b.getBondId() + SEP + b.getBurgId() + SEP + b.getOwnerUuid() + SEP + b.getCurrency()
+                + SEP + b.getPrincipal() + SEP + b.getPayout()
+                + SEP + b.getIssuedAt() + SEP + b.getMaturesAt() + SEP + b.isRedeemed();
+    }
+
+    /** @return the bond, or null if the line is damaged (e.g. a torn final write) */
+    static BurgBond decode(String line) {
+        String[] p = line.split(SEP, -1);
+        if (p.length != 9) return null;
+        try {
+            return new BurgBond(
+                    UUID.fromString(p[0]), p[1], UUID.fromString(p[2]), p[3],
+                    Long.parseLong(p[4]), Long.parseLong(p[5]),
+                    Long.parseLong(p[6]), Long.parseLong(p[7]),
+                    Boolean.parseBoolean(p[8])
+            );
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -45,6 +45,11 @@ public class BurgBond {
     public boolean isRedeemed() { return redeemed; }
     public void setRedeemed(boolean redeemed) { this.redeemed = redeemed; }
 
+    /** Detached copy for the bond writer thread. */
+    public BurgBond copy() {
+        return new BurgBond(bondId, burgId, ownerUuid, currency, principal, payout, issuedAt, maturesAt, redeemed);
+    }
+
     public boolean isMature() {
         return System.currentTimeMillis() >= maturesAt;
     }
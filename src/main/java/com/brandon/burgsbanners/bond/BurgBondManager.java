@@ -2,21 +2,29 @@ package com.brandon.burgsbanners.bond;
 
 import com.brandon.burgsbanners.burg.Burg;
 import com.brandon.burgsbanners.mpc.MpcHook;
+import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class BurgBondManager {
 
     private final JavaPlugin plugin;
-    private final BondStorage storage;
+    private final BondRepository storage;
+    private final BondSaveQueue saveQueue;
     private final Map<UUID, BurgBond> bonds = new HashMap<>();
     private final MpcHook mpc;
 
-    public BurgBondManager(JavaPlugin plugin, BondStorage storage, MpcHook mpc) {
+    private BukkitTask archiveTask;
+    private boolean archiveInFlight = false;
+
+    public BurgBondManager(JavaPlugin plugin, BondRepository storage, MpcHook mpc) {
         this.plugin = plugin;
         this.storage = storage;
+        this.saveQueue = new BondSaveQueue(plugin, storage, new BondArchive(plugin));
         this.mpc = mpc;
     }
 
@@ -39,8 +47,86 @@ public class BurgBondManager {
         bonds.putAll(storage.loadAll());
     }
 
+    /** Queues a full rewrite of every bond. */
     public void saveAll() {
-        storage.saveAll(bonds);
+        saveQueue.saveAll(bonds.values());
+    }
+
+    /** Queues one new or changed bond: a journal append or a single row upsert, off the main thread. */
+    public void save(BurgBond bond) {
+        if (bond == null) return;
+        saveQueue.save(bond, bonds.values());
+    }
+
+    /** On disable: flush queued bond writes and wait (bounded) for them. */
+    public void shutdown() {
+        if (archiveTask != null) {
+            archiveTask.cancel();
+            archiveTask = null;
+        }
+        saveQueue.shutdown(bonds.values());
+    }
+
+    // ===== Archive =====
+
+    /** Starts the periodic move of redeemed bonds into archive segments. Call once after loadAll(). */
+    public void startArchiving() {
+        long minutes = Math.max(1L, plugin.getConfig().getLong("bonds.archive.intervalMinutes", 60L));
+        long periodTicks = minutes * 60L * 20L;
+        this.archiveTask = Bukkit.getScheduler().runTaskTimer(plugin, this::archiveRedeemed, periodTicks, periodTicks);
+    }
+
+    /**
+     * Main thread: copies every redeemed bond into a new archive segment. Only once the segment
+     * is on disk are they dropped from memory and the live store, so a failed write loses nothing.
+     */
+    public void archiveRedeemed() {
+        if (archiveInFlight) return;
+
+        List<BurgBond> redeemed = new ArrayList<>();
+        for (BurgBond b : bonds.values()) {
+            if (b.isRedeemed()) redeemed.add(b);
+        }
+        if (redeemed.isEmpty()) return;
+
+        archiveInFlight = true;
+        // whenComplete, not thenAccept: a segment write that throws must still release the flag
+        saveQueue.writeArchive(redeemed).whenComplete((ok, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            archiveInFlight = false;
+            if (error != null) {
+                plugin.getLogger().severe("[Bonds] Archiving " + redeemed.size() + " redeemed bond(s) failed: " + error);
+            } else if (ok) {
+                removeArchived(redeemed);
+            }
+        }));
+    }
+
+    private void removeArchived(List<BurgBond> archived) {
+        List<UUID> ids = new ArrayList<>(archived.size());
+        for (BurgBond b : archived) {
+            if (bonds.remove(b.getBondId()) != null) ids.add(b.getBondId());
+        }
+        saveQueue.delete(ids, bonds.values());
+        plugin.getLogger().info("[Bonds] Archived " + ids.size() + " redeemed bond(s).");
+    }
+
+    /**
+     * A player's full bond history: live bonds plus archived (redeemed) ones, oldest first.
+     * The archive is read off the main thread; the future completes on the bond writer thread.
+     */
+    public CompletableFuture<List<BurgBond>> getBondHistory(UUID playerUuid) {
+        List<BurgBond> live = new ArrayList<>();
+        for (BurgBond b : getPlayerBonds(playerUuid)) live.add(b.copy());
+
+        return saveQueue.findArchived(b -> b.getOwnerUuid().equals(playerUuid)).thenApply(archived -> {
+            Map<UUID, BurgBond> merged = new LinkedHashMap<>();
+            for (BurgBond b : archived) merged.put(b.getBondId(), b);
+            for (BurgBond b : live) merged.put(b.getBondId(), b);
+
+            List<BurgBond> out = new ArrayList<>(merged.values());
+            out.sort(Comparator.comparingLong(BurgBond::getIssuedAt));
+            return out;
+        });
     }
 
     public BurgBond issueBond(Burg burg, UUID playerUuid, long principal, double rate, long durationMillis) {
@@ -0,0 +1,169 @@
+package com.brandon.burgsbanners.bond;
+
+import com.brandon.burgsbanners.burg.storage.SqliteDatabase;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * storage.backend: sqlite. One row per bond, indexed by owner and by burg, so issuing or
+ * redeeming a bond is a single-row upsert instead of a bonds.yml rewrite.
+ * The table is seeded from bonds.yml (and bonds.journal) exactly once; a meta marker records
+ * the import, so a table emptied later by archiving is never re-seeded from the stale files.
+ * The files are left in place.
+ */
+public class SqliteBondRepository implements BondRepository {
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS bonds ("
+                    + "bond_id TEXT PRIMARY KEY, burg_id TEXT NOT NULL, owner TEXT NOT NULL, currency TEXT NOT NULL,"
+                    + " principal INTEGER NOT NULL, payout INTEGER NOT NULL,"
+                    + " issued_at INTEGER NOT NULL, matures_at INTEGER NOT NULL, redeemed INTEGER NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS idx_bonds_owner ON bonds (owner)",
+            "CREATE INDEX IF NOT EXISTS idx_bonds_burg ON bonds (burg_id, redeemed)"
+    };
+
+    private static final String IMPORTED_MARKER = "bonds.imported";
+
+    private static final String UPSERT_BOND = "INSERT OR REPLACE INTO bonds ("
+            + "bond_id, burg_id, owner, currency, principal, payout, issued_at, matures_at, redeemed)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JavaPlugin plugin;
+    private final SqliteDatabase database;
+    private final BondRepository importFrom;
+
+    /** @param importFrom seeds an empty table (bonds.yml); may be null */
+    public SqliteBondRepository(JavaPlugin plugin, SqliteDatabase database, BondRepository importFrom) {
+        this.plugin = plugin;
+        this.database = database;
+        this.importFrom = importFrom;
+    }
+
+    @Override
+    public Map<UUID, BurgBond> loadAll() {
+        try {
+            database.createSchema(SCHEMA);
+
+            Map<UUID, BurgBond> out = database.transaction(this::readAll);
+            boolean imported = database.transaction(c -> SqliteDatabase.hasMarker(c, IMPORTED_MARKER));
+            if (!imported) {
+                // a table that already holds bonds predates the marker: it was seeded (or used) before
+                Map<UUID, BurgBond> seed = (out.isEmpty() && importFrom != null) ? importFrom.loadAll() : Map.of();
+                database.transaction(c -> {
+                    writeRows(c, seed.values());
+                    SqliteDatabase.setMarker(c, IMPORTED_MARKER);
+                    return null;
+                });
+                if (!seed.isEmpty()) {
+                    out = new HashMap<>(seed);
+                    plugin.getLogger().info("[Bonds] Imported " + out.size() + " bond(s) from bonds.yml into "
+                            + SqliteDatabase.FILE_NAME + ".");
+                }
+            }
+
+            plugin.getLogger().info("[Bonds] Loaded " + out.size() + " bond(s).");
+            return out;
+        } catch (SQLException e) {
+            plugin.getLogger().severe("[Bonds] Failed to load bonds from " + SqliteDatabase.FILE_NAME + ": " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<BurgBond> bonds) {
+        upsert(bonds);
+    }
+
+    @Override
+    public void saveBonds(Collection<BurgBond> changed) {
+        upsert(changed);
+    }
+
+    @Override
+    public void deleteBonds(Collection<UUID> bondIds) {
+        if (bondIds.isEmpty()) return;
+        try {
+            database.transaction(c -> {
+                try (PreparedStatement ps = c.prepareStatement("DELETE FROM bonds WHERE bond_id = ?")) {
+                    for (UUID id : bondIds) {
+                        ps.setString(1, id.toString());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            plugin.getLogger().severe("[Bonds] Could not remove " + bondIds.size() + " archived bond(s): " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isJournaled() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        // the shared connection is closed by the plugin
+    }
+
+    private void upsert(Collection<BurgBond> bonds) {
+        if (bonds.isEmpty()) return;
+        try {
+            database.transaction(c -> {
+                writeRows(c, bonds);
+                return null;
+            });
+        } catch (SQLException e) {
+            plugin.getLogger().severe("[Bonds] Could not save " + bonds.size() + " bond(s): " + e.getMessage());
+        }
+    }
+
+    private static void writeRows(Connection c, Collection<BurgBond> bonds) throws SQLException {
+        if (bonds.isEmpty()) return;
+        try (PreparedStatement ps = c.prepareStatement(UPSERT_BOND)) {
+            for (BurgBond b : bonds) {
+                ps.setString(1, b.getBondId().toString());
+                ps.setString(2, b.getBurgId());
+                ps.setString(3, b.getOwnerUuid().toString());
+                ps.setString(4, b.getCurrency());
+                ps.setLong(5, b.getPrincipal());
+                ps.setLong(6, b.getPayout());
+                ps.setLong(7, b.getIssuedAt());
+                ps.setLong(8, b.getMaturesAt());
+                ps.setBoolean(9, b.isRedeemed());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private Map<UUID, BurgBond> readAll(Connection c) throws SQLException {
+        Map<UUID, BurgBond> out = new HashMap<>();
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT * FROM bonds")) {
+            while (rs.next()) {
+                try {
+                    UUID bondId = UUID.fromString(rs.getString("bond_id"));
+                    out.put(bondId, new BurgBond(
+                            bondId,
+                            rs.getString("burg_id"),
+                            UUID.fromString(rs.getString("owner")),
+                            rs.getString("currency"),
+                            rs.getLong("principal"),
+                            rs.getLong("payout"),
+                            rs.getLong("issued_at"),
+                            rs.getLong("matures_at"),
+                            rs.getBoolean("redeemed")
+                    ));
+                } catch (IllegalArgumentException ex) {
+                    plugin.getLogger().warning("[Bonds] Skipping bond row " + rs.getString("bond_id") + ": " + ex.getMessage());
+                }
+            }
+        }
+        return out;
+    }
+}
@@ -1,12 +1,15 @@
 package com.brandon.burgsbanners.burg;
 
 import com.brandon.burgsbanners.burg.plot.Plot;
+import com.brandon.burgsbanners.burg.plot.StoredPlots;
 import org.bukkit.Location;
 import org.bukkit.World;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
-public class Burg {
+public class Burg implements BurgLedger {
 
     /** A burg's charter is a fixed 5x5 chunk square centered on its founding home chunk. */
     public static final int BURG_CLAIM_RADIUS = 2;
@@ -30,26 +33,48 @@ public class Burg {
 
     private final Set<UUID> members = new HashSet<>();
     private final Set<ChunkClaim> claims = new HashSet<>();
+    private final CharterBitmap charterBitmap = new CharterBitmap();   // claims inside the 5x5 charter
 
     // balances in whole units (matches BurgStorage + safe for YAML)
-    private final Map<String, Long> treasuryBalances = new HashMap<>();
+    // concurrent so unlocked readers stay safe while a striped-mode writer holds the burg's lock
+    private final Map<String, Long> treasuryBalances = new ConcurrentHashMap<>();
 
     // abstract population
     private final Map<PopulationRole, Integer> population = new EnumMap<>(PopulationRole.class);
 
-    // food scan stats
-    private double baseFoodCapacity = 0.0;
-    private double lastFoodPoints = 0.0;
-    private long lastScanEpochSeconds = 0L;
+    // food scan stats (volatile: may be written off-thread through BurgLedger)
+    private volatile double baseFoodCapacity = 0.0;
+    private volatile double lastFoodPoints = 0.0;
+    private volatile long lastScanEpochSeconds = 0L;
 
-    // plots by id
+    // plots by id; storage may hand over its stored form instead, built on first access
     private final Map<String, Plot> plots = new LinkedHashMap<>();
+    private final Map<String, Plot> plotsView = Collections.unmodifiableMap(plots);
+    private PlotIndex plotIndex;                // null = rebuild on next lookup
+    private StoredPlots storedPlots;            // null = plots are built
 
     // ✅ NEW: local sales tax policy (0.00 - 0.35)
     private double salesTaxRate = 0.05; // default 5%
 
     public static final double MAX_SALES_TAX = 0.5;
 
+    // ---- Dirty sections (what changed since the last persist) ----
+    public static final int DIRTY_CORE = 1;             // name, stage, title, currency, treasury id, home
+    public static final int DIRTY_LEADER = 1 << 1;
+    public static final int DIRTY_MEMBERS = 1 << 2;
+    public static final int DIRTY_CLAIMS = 1 << 3;
+    public static final int DIRTY_TREASURY = 1 << 4;
+    public static final int DIRTY_TAX = 1 << 5;
+    public static final int DIRTY_FOOD = 1 << 6;
+    public static final int DIRTY_PLOTS = 1 << 7;       // a plot was added or replaced
+    public static final int DIRTY_ALL = (1 << 8) - 1;
+
+    // a burg that was never persisted is dirty everywhere; storage clears this after loading
+    // (updated atomically: ledger changes may mark it from another thread)
+    private volatile int dirtySections = DIRTY_ALL;
+    private static final AtomicIntegerFieldUpdater<Burg> DIRTY =
+            AtomicIntegerFieldUpdater.newUpdater(Burg.class, "dirtySections");
+
     public Burg(String id) {
         this.id = id;
     }
@@ -81,6 +106,7 @@ public class Burg {
 
         b.members.add(leaderUuid);
         if (starterClaims != null) b.claims.addAll(starterClaims);
+        b.rebuildCharterBitmap();
 
         // initial abstract population
         b.population.put(PopulationRole.MAYOR, 1);
@@ -105,6 +131,7 @@ public class Burg {
 
     public void setMoneychangerFeeRate(double rate) {
         this.moneychangerFeeRate = Math.max(0.0, Math.min(MAX_MONEYCHANGER_FEE, rate));
+        markDirty(DIRTY_TAX);
     }
 
 
@@ -112,27 +139,32 @@ public class Burg {
     public String getId() { return id; }
 
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) { this.name = name; markDirty(DIRTY_CORE); }
 
     public PolityStage getPolityStage() { return polityStage; }
-    public void setPolityStage(PolityStage polityStage) { this.polityStage = polityStage; }
+    public void setPolityStage(PolityStage polityStage) { this.polityStage = polityStage; markDirty(DIRTY_CORE); }
 
     public UUID getTreasuryUuid() { return treasuryUuid; }
-    public void setTreasuryUuid(UUID treasuryUuid) { this.treasuryUuid = treasuryUuid; }
+    public void setTreasuryUuid(UUID treasuryUuid) { this.treasuryUuid = treasuryUuid; markDirty(DIRTY_CORE); }
 
     public UUID getLeaderUuid() { return leaderUuid; }
-    public void setLeaderUuid(UUID leaderUuid) { this.leaderUuid = leaderUuid; }
+    public void setLeaderUuid(UUID leaderUuid) {
+        if (!Objects.equals(this.leaderUuid, leaderUuid)) PermissionEpoch.bump();
+        this.leaderUuid = leaderUuid;
+        markDirty(DIRTY_LEADER);
+    }
 
     public String getRulerTitle() { return rulerTitle; }
-    public void setRulerTitle(String rulerTitle) { this.rulerTitle = rulerTitle; }
+    public void setRulerTitle(String rulerTitle) { this.rulerTitle = rulerTitle; markDirty(DIRTY_CORE); }
 
     public String getAdoptedCurrencyCode() { return adoptedCurrencyCode; }
     public void setAdoptedCurrencyCode(String adoptedCurrencyCode) {
         this.adoptedCurrencyCode = adoptedCurrencyCode == null ? "SHEKEL" : adoptedCurrencyCode.toUpperCase(Locale.ROOT);
+        markDirty(DIRTY_CORE);
     }
 
     public UUID getWorldId() { return worldId; }
-    public void setWorldId(UUID worldId) { this.worldId = worldId; }
+    public void setWorldId(UUID worldId) { this.worldId = worldId; rebuildCharterBitmap(); markDirty(DIRTY_CORE); }
 
     public Location getHome(World world) {
         return new Location(world, homeX + 0.5, homeY, homeZ + 0.5);
@@ -144,8 +176,24 @@ public class Burg {
         this.homeX = home.getBlockX();
         this.homeY = home.getBlockY();
         this.homeZ = home.getBlockZ();
+        rebuildCharterBitmap();
+        markDirty(DIRTY_CORE);
+    }
+
+    /** Sets the home without needing the world to be loaded (storage/codecs). */
+    public void setHome(UUID worldId, int x, int y, int z) {
+        this.worldId = worldId;
+        this.homeX = x;
+        this.homeY = y;
+        this.homeZ = z;
+        rebuildCharterBitmap();
+        markDirty(DIRTY_CORE);
     }
 
+    public int getHomeX() { return homeX; }
+    public int getHomeY() { return homeY; }
+    public int getHomeZ() { return homeZ; }
+
     public int getHomeChunkX() { return homeX >> 4; }
     public int getHomeChunkZ() { return homeZ >> 4; }
 
@@ -159,11 +207,82 @@ public class Burg {
         return dx <= BURG_CLAIM_RADIUS && dz <= BURG_CLAIM_RADIUS;
     }
 
+    /** Read access; change membership through addMember/removeMember so the change is tracked. */
     public Set<UUID> getMembers() { return members; }
     public Set<ChunkClaim> getClaims() { return claims; }
 
-    public boolean addClaim(ChunkClaim claim) { return claims.add(claim); }
-    public boolean removeClaim(ChunkClaim claim) { return claims.remove(claim); }
+    public boolean addMember(UUID member) {
+        boolean changed = members.add(member);
+        if (changed) markDirty(DIRTY_MEMBERS);
+        return changed;
+    }
+
+    public boolean removeMember(UUID member) {
+        boolean changed = members.remove(member);
+        if (changed) markDirty(DIRTY_MEMBERS);
+        return changed;
+    }
+
+    public boolean addClaim(ChunkClaim claim) {
+        boolean changed = claims.add(claim);
+        if (changed) {
+            charterBitmap.set(charterBit(claim));
+            markDirty(DIRTY_CLAIMS);
+        }
+        return changed;
+    }
+
+    public boolean removeClaim(ChunkClaim claim) {
+        boolean changed = claims.remove(claim);
+        if (changed) {
+            charterBitmap.clear(charterBit(claim));
+            markDirty(DIRTY_CLAIMS);
+        }
+        return changed;
+    }
+
+    // ---- Charter adjacency (O(1) over the 5x5 charter bitmap) ----
+
+    /** True when the claim is held and at least one of its 4 neighbours is not. */
+    public boolean isBorderClaim(ChunkClaim claim) {
+        int bit = charterBit(claim);
+        return bit >= 0 && (charterBitmap.border() & (1 << bit)) != 0;
+    }
+
+    /** True when unclaiming this chunk would cut the burg's territory into separate pieces. */
+    public boolean wouldSplitClaims(ChunkClaim claim) {
+        return charterBitmap.wouldSplit(charterBit(claim));
+    }
+
+    /** Number of 4-connected pieces the charter territory is in (1 for a normal burg). */
+    public int getClaimComponentCount() {
+        return charterBitmap.components();
+    }
+
+    /** Claimed chunks with at least one unclaimed neighbour, e.g. for map outlines. */
+    public List<ChunkClaim> getBorderClaims() {
+        List<ChunkClaim> out = new ArrayList<>();
+        int border = charterBitmap.border();
+        while (border != 0) {
+            int bit = Integer.numberOfTrailingZeros(border);
+            border &= border - 1;
+            out.add(ChunkClaim.of(worldId,
+                    getHomeChunkX() + CharterBitmap.dx(bit),
+                    getHomeChunkZ() + CharterBitmap.dz(bit)));
+        }
+        return out;
+    }
+
+    private int charterBit(ChunkClaim claim) {
+        if (claim == null || worldId == null || !worldId.equals(claim.getWorldId())) return -1;
+        return CharterBitmap.bit(claim.getChunkX() - getHomeChunkX(), claim.getChunkZ() - getHomeChunkZ());
+    }
+
+    private void rebuildCharterBitmap() {
+        charterBitmap.reset();
+        for (ChunkClaim claim : claims) charterBitmap.setQuietly(charterBit(claim));
+        charterBitmap.refresh();
+    }
 
     public boolean hasClaim(ChunkClaim claim) { return claims.contains(claim); }
     public int getClaimCount() { return claims.size(); }
@@ -177,17 +296,27 @@ public class Burg {
 
     public void creditTreasury(String code, long amount) {
         if (amount <= 0 || code == null) return;
-        String c = code.toUpperCase(Locale.ROOT);
-        treasuryBalances.put(c, getTreasuryBalance(c) + amount);
+        treasuryBalances.merge(code.toUpperCase(Locale.ROOT), amount, Long::sum);
+        markDirty(DIRTY_TREASURY);
+    }
+
+    /** Sets a balance outright (storage and journal replay). */
+    public void setTreasuryBalance(String code, long balance) {
+        if (code == null) return;
+        treasuryBalances.put(code.toUpperCase(Locale.ROOT), balance);
+        markDirty(DIRTY_TREASURY);
     }
 
     public boolean debitTreasury(String code, long amount) {
         if (amount <= 0 || code == null) return false;
-        String c = code.toUpperCase(Locale.ROOT);
-        long bal = getTreasuryBalance(c);
-        if (bal < amount) return false;
-        treasuryBalances.put(c, bal - amount);
-        return true;
+        boolean[] debited = new boolean[1];
+        treasuryBalances.computeIfPresent(code.toUpperCase(Locale.ROOT), (c, bal) -> {
+            if (bal < amount) return bal;
+            debited[0] = true;
+            return bal - amount;
+        });
+        if (debited[0]) markDirty(DIRTY_TREASURY);
+        return debited[0];
     }
 
     public Map<PopulationRole, Integer> getPopulation() { return population; }
@@ -197,24 +326,113 @@ public class Burg {
     }
 
     public double getBaseFoodCapacity() { return baseFoodCapacity; }
-    public void setBaseFoodCapacity(double baseFoodCapacity) { this.baseFoodCapacity = baseFoodCapacity; }
+    public void setBaseFoodCapacity(double baseFoodCapacity) { this.baseFoodCapacity = baseFoodCapacity; markDirty(DIRTY_FOOD); }
 
     public double getLastFoodPoints() { return lastFoodPoints; }
-    public void setLastFoodPoints(double lastFoodPoints) { this.lastFoodPoints = lastFoodPoints; }
+    public void setLastFoodPoints(double lastFoodPoints) { this.lastFoodPoints = lastFoodPoints; markDirty(DIRTY_FOOD); }
 
     public long getLastScanEpochSeconds() { return lastScanEpochSeconds; }
-    public void setLastScanEpochSeconds(long lastScanEpochSeconds) { this.lastScanEpochSeconds = lastScanEpochSeconds; }
+    public void setLastScanEpochSeconds(long lastScanEpochSeconds) { this.lastScanEpochSeconds = lastScanEpochSeconds; markDirty(DIRTY_FOOD); }
 
     public Plot getPlot(String id) {
         if (id == null) return null;
+        hydratePlots();
         return plots.get(id.toLowerCase(Locale.ROOT));
     }
 
-    public Map<String, Plot> getPlots() { return plots; }
+    /** Read-only; add or replace plots through putPlot so the spatial index stays current. */
+    public Map<String, Plot> getPlots() {
+        hydratePlots();
+        return plotsView;
+    }
 
     public void putPlot(Plot plot) {
         if (plot == null || plot.getId() == null) return;
-        plots.put(plot.getId().toLowerCase(Locale.ROOT), plot);
+        hydratePlots();
+        Plot previous = plots.put(plot.getId().toLowerCase(Locale.ROOT), plot);
+        plotIndex = null;
+        if (previous != plot) PermissionEpoch.bump();
+        markDirty(DIRTY_PLOTS);
+    }
+
+    /**
+     * The plot containing this location, or null. Plots are bucketed by chunk, so only the
+     * plots touching the location's chunk are tested.
+     */
+    public Plot findPlotAt(Location loc) {
+        if (!mayHavePlotAt(loc)) return null;
+        return plotIndex().find(loc);
+    }
+
+    /** False when no plot of this burg overlaps the chunk, so every block in it resolves the same way. */
+    public boolean hasPlotInChunk(UUID worldId, int chunkX, int chunkZ) {
+        if (worldId == null || getPlotCount() == 0) return false;
+        return plotIndex().touches(worldId, chunkX, chunkZ);
+    }
+
+    private PlotIndex plotIndex() {
+        hydratePlots();
+        PlotIndex index = plotIndex;
+        if (index == null) {
+            index = PlotIndex.build(plots.values());
+            plotIndex = index;
+        }
+        return index;
+    }
+
+    // =========================
+    // ✅ Lazy plots
+    // =========================
+
+    /**
+     * Storage: defer building the plot table until it is first used.
+     * The summary answers counts and "could a plot be here" without building anything.
+     */
+    public void setLazyPlots(StoredPlots stored) {
+        plots.clear();
+        plotIndex = null;
+        PermissionEpoch.bump();
+        this.storedPlots = stored;
+    }
+
+    public boolean arePlotsLoaded() { return storedPlots == null; }
+
+    /** The plots in storage's own form while none has been built, else null; saves write it back as is. */
+    public StoredPlots getStoredPlots() { return storedPlots; }
+
+    private void hydratePlots() {
+        if (storedPlots == null) return;
+
+        // if building throws, the plots stay unloaded and the next access retries
+        List<Plot> loaded = storedPlots.build();
+        storedPlots = null;
+
+        for (Plot p : loaded) {
+            if (p == null || p.getId() == null) continue;
+            p.clearDirty(Plot.DIRTY_ALL);
+            plots.put(p.getId().toLowerCase(Locale.ROOT), p);
+        }
+        plotIndex = null;
+    }
+
+    public int getPlotCount() {
+        return storedPlots != null ? storedPlots.summary().plotCount() : plots.size();
+    }
+
+    public int getListedPlotCount() {
+        if (storedPlots != null) return storedPlots.summary().listedCount();
+        int n = 0;
+        for (Plot p : plots.values()) if (p.isForSale()) n++;
+        return n;
+    }
+
+    /** Cheap pre-check for protection: false means no plot of this burg contains the location. */
+    public boolean mayHavePlotAt(Location loc) {
+        if (loc == null || loc.getWorld() == null) return false;
+        if (storedPlots != null) {
+            return storedPlots.summary().mayContain(loc.getWorld().getUID(), loc.getBlockX(), loc.getBlockZ());
+        }
+        return !plots.isEmpty();
     }
 
     // =========================
@@ -232,5 +450,35 @@ public class Burg {
         if (rate < 0) rate = 0;
         if (rate > MAX_SALES_TAX) rate = MAX_SALES_TAX;
         this.salesTaxRate = rate;
+        markDirty(DIRTY_TAX);
+    }
+
+    // =========================
+    // ✅ Dirty-section tracking
+    // =========================
+
+    public void markDirty(int sections) {
+        DIRTY.getAndUpdate(this, d -> d | sections);
+    }
+
+    public int getDirtySections() { return dirtySections; }
+
+    public boolean isDirty(int section) { return (dirtySections & section) != 0; }
+
+    public void clearDirty(int sections) { DIRTY.getAndUpdate(this, d -> d & ~sections); }
+
+    /** Ids of plots with unsaved field changes. */
+    public List<String> getDirtyPlotIds() {
+        List<String> out = new ArrayList<>();
+        for (Map.Entry<String, Plot> e : plots.entrySet()) {
+            if (e.getValue().isDirty()) out.add(e.getKey());
+        }
+        return out;
+    }
+
+    /** Everything is on disk: clears the burg's sections and every plot's fields. */
+    public void clearAllDirty() {
+        this.dirtySections = 0;
+        for (Plot p : plots.values()) p.clearDirty(Plot.DIRTY_ALL);
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.brandon.burgsbanners.burg;
+
+/**
+ * The part of a burg that is safe to change from any thread: treasury balances and food stats.
+ *
+ * {@link BurgManager#mutateLedger} hands changes this view instead of the whole burg, so a
+ * change running off the main thread cannot reach plots, the leader, claims or members,
+ * which the server thread reads without taking the burg's lock.
+ */
+public interface BurgLedger {
+
+    String getId();
+
+    long getTreasuryBalance(String code);
+    void creditTreasury(String code, long amount);
+    boolean debitTreasury(String code, long amount);
+    void setTreasuryBalance(String code, long balance);
+
+    double getBaseFoodCapacity();
+    void setBaseFoodCapacity(double baseFoodCapacity);
+
+    double getLastFoodPoints();
+    void setLastFoodPoints(double lastFoodPoints);
+
+    long getLastScanEpochSeconds();
+    void setLastScanEpochSeconds(long lastScanEpochSeconds);
+}
@@ -0,0 +1,51 @@
+package com.brandon.burgsbanners.burg;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped per-burg locks for the "striped" concurrency mode.
+ *
+ * A burg always maps to the same stripe (by id), so two threads touching the same burg
+ * serialize while different burgs mostly proceed in parallel. In "main-thread" mode every
+ * lock is a no-op: all burg state is confined to the server thread anyway.
+ */
+public final class BurgLocks {
+
+    private static final Lock NO_LOCK = new NoLock();
+
+    private final ReentrantLock[] stripes;
+
+    public BurgLocks(boolean enabled, int stripeCount) {
+        if (!enabled) {
+            this.stripes = null;
+            return;
+        }
+        int n = Integer.highestOneBit(Math.max(1, stripeCount) - 1) << 1;
+        this.stripes = new ReentrantLock[Math.max(1, n)];
+        for (int i = 0; i < stripes.length; i++) stripes[i] = new ReentrantLock();
+    }
+
+    public boolean isEnabled() {
+        return stripes != null;
+    }
+
+    /** The lock guarding this burg's fields (a no-op lock when striping is off). */
+    public Lock lockFor(Burg burg) {
+        if (stripes == null || burg == null || burg.getId() == null) return NO_LOCK;
+        int h = burg.getId().hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    private static final class NoLock implements Lock {
+        @Override public void lock() {}
+        @Override public void lockInterruptibly() {}
+        @Override public boolean tryLock() { return true; }
+        @Override public boolean tryLock(long time, TimeUnit unit) { return true; }
+        @Override public void unlock() {}
+        @Override public Condition newCondition() { throw new UnsupportedOperationException(); }
+    }
+}
@@ -1,11 +1,19 @@
 package com.brandon.burgsbanners.burg;
 
-import com.brandon.burgsbanners.burg.storage.BurgStorage;
+import com.brandon.burgsbanners.burg.plot.Plot;
+import com.brandon.burgsbanners.burg.storage.BurgMutation;
+import com.brandon.burgsbanners.burg.storage.BurgRepository;
+import com.brandon.burgsbanners.burg.storage.BurgSaveQueue;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 
 public class BurgManager {
 
@@ -18,73 +26,439 @@ public class BurgManager {
     }
 
     private final JavaPlugin plugin;
-    private final BurgStorage storage;
+    private final BurgRepository storage;
+    private final BurgSaveQueue saveQueue;
 
     private final Map<String, Burg> burgsById = new HashMap<>();
-    private final Map<UUID, String> memberToBurgId = new HashMap<>();
 
-    // Global index: claim key -> burgId
-    private final Map<String, String> claimKeyToBurgId = new HashMap<>();
+    // ✅ Dense burg ordinals shared by the primitive indexes (claims, members)
+    private final BurgOrdinals ordinals = new BurgOrdinals();
 
-    public BurgManager(JavaPlugin plugin, BurgStorage storage) {
+    // ✅ Player -> burg (UUID as two longs) + online members per burg
+    private final MemberRegistry members = new MemberRegistry(ordinals);
+
+    // ✅ Name index: normalized name -> burg (exact lookups) + sorted view for prefix search
+    private final Map<String, Burg> burgsByName = new HashMap<>();
+    private final NavigableMap<String, Burg> burgNamesSorted = new TreeMap<>();
+
+    // ✅ Global index: world + packed chunk -> burg (allocation-free lookups)
+    private final ClaimIndex claimIndex;
+
+    // ✅ Published read-only view for other threads; rebuilt at most once per tick
+    private volatile BurgSnapshot snapshot = BurgSnapshot.EMPTY;
+    private final Set<String> snapshotChanged = new HashSet<>();
+    private boolean snapshotStale;
+
+    // ✅ Secondary lookups: leader, treasury, currency, stage
+    private final BurgQueryIndex queryIndex = new BurgQueryIndex();
+
+    // ✅ Home-chunk grid for charter overlap / nearest-burg queries
+    private final CharterGrid charterGrid = new CharterGrid();
+
+    // ✅ Concurrency: per-burg stripe locks ("striped" mode) + burgs changed off the main thread,
+    // whose index/save bookkeeping is replayed on the next tick
+    private final BurgLocks locks;
+    private final Queue<Burg> changedOffThread = new ConcurrentLinkedQueue<>();
+
+    public BurgManager(JavaPlugin plugin, BurgRepository storage) {
         this.plugin = plugin;
         this.storage = storage;
+        String mode = plugin.getConfig().getString("concurrency.mode", "main-thread");
+        this.locks = new BurgLocks("striped".equalsIgnoreCase(mode), plugin.getConfig().getInt("concurrency.lockStripes", 64));
+        this.saveQueue = new BurgSaveQueue(plugin, storage, locks::lockFor);
+        this.claimIndex = new ClaimIndex(ordinals, plugin.getConfig().getBoolean("claims.regionPages", false));
     }
 
     public void loadAll() {
-        burgsById.clear();
-        memberToBurgId.clear();
-        claimKeyToBurgId.clear();
+        // decoding and indexing touch every claim and plot; bump the permission epoch once at the end
+        PermissionEpoch.suspend();
+        try {
+            reloadAll();
+        } finally {
+            PermissionEpoch.resume();
+        }
+    }
 
-        Map<String, Burg> loaded = storage.loadAllBurgs();
+    private void reloadAll() {
+        burgsById.clear();
+        ordinals.clear();
+        members.clear();
+        burgsByName.clear();
+        burgNamesSorted.clear();
+        claimIndex.clear();
+        charterGrid.clear();
+        queryIndex.clear();
+
+        Map<String, Burg> loaded = storage.loadAll();
         burgsById.putAll(loaded);
 
+        // link phase (main thread): resolve worlds and build the lookup indexes
         int migratedTreasuries = 0;
+        int unloadedWorlds = 0;
 
         for (Burg burg : loaded.values()) {
 
+            if (burg.getWorldId() != null && plugin.getServer().getWorld(burg.getWorldId()) == null) {
+                unloadedWorlds++;
+            }
+
             // ✅ MIGRATION: ensure every burg has a persistent treasury UUID
             if (burg.getTreasuryUuid() == null) {
                 burg.setTreasuryUuid(UUID.randomUUID());
-                storage.saveBurg(burg);
+                save(burg);
                 migratedTreasuries++;
             }
 
             for (UUID member : burg.getMembers()) {
-                memberToBurgId.put(member, burg.getId());
+                members.put(member, burg, isOnline(member));
             }
-            for (ChunkClaim claim : burg.getClaims()) {
-                claimKeyToBurgId.put(claim.toKey(), burg.getId());
+            claimIndex.register(burg);
+            charterGrid.add(burg);
+            queryIndex.reindex(burg);
+            if (!indexName(burg)) {
+                plugin.getLogger().warning("Burg " + burg.getId() + " shares the name '" + burg.getName()
+                        + "' with another burg; only the first is reachable by name.");
             }
         }
 
+        snapshotChanged.clear();
+        snapshot = BurgSnapshot.build(BurgSnapshot.EMPTY, burgsById.values(), Set.of(), locks::lockFor);
+        snapshotStale = false;
+
         plugin.getLogger().info("Loaded " + burgsById.size() + " burg(s).");
+        if (unloadedWorlds > 0) {
+            plugin.getLogger().warning(unloadedWorlds + " burg(s) are homed in a world that is not loaded; they keep their data and resolve once it loads.");
+        }
         if (migratedTreasuries > 0) {
             plugin.getLogger().info("Migrated " + migratedTreasuries + " burg treasury UUID(s).");
         }
+        if (plugin.getConfig().getBoolean("claims.memoryReport", false)) {
+            for (String line : claimIndexReport()) plugin.getLogger().info(line);
+        }
     }
 
+    /**
+     * Per-world memory report for the claim index: hash maps vs 32x32 region pages.
+     * Region figures are estimates when region pages are switched off.
+     */
+    public List<String> claimIndexReport() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Claim index (" + (claimIndex.usesRegionPages() ? "region pages" : "hash") + "): "
+                + claimIndex.size() + " claim(s)");
+
+        for (ClaimIndex.WorldFootprint f : claimIndex.footprint()) {
+            World world = (f.worldId() == null) ? null : plugin.getServer().getWorld(f.worldId());
+            String name = (world != null) ? world.getName() : String.valueOf(f.worldId());
+            lines.add("  " + name + ": " + f.claims() + " claim(s), hash ~" + kib(f.hashBytes())
+                    + " KiB, region pages " + f.regionPages() + " (~" + kib(f.regionBytes()) + " KiB)");
+        }
+        return lines;
+    }
+
+    private static String kib(long bytes) {
+        return String.format(Locale.ROOT, "%.1f", bytes / 1024.0);
+    }
+
+    /** Starts the periodic write-behind flush. Call once after loadAll(). */
+    public void startSaving() {
+        saveQueue.start();
+    }
+
+    /** Marks every burg dirty and queues the writes. */
     public void saveAll() {
         for (Burg burg : burgsById.values()) {
-            storage.saveBurg(burg);
+            saveQueue.markDirty(burg);
         }
+        saveQueue.flush();
     }
 
+    /**
+     * Write-behind save: the burg is snapshotted at the next flush and written off-thread.
+     * Repeated saves before that flush cost nothing extra.
+     */
     public void save(Burg burg) {
-        storage.saveBurg(burg);
+        saveQueue.markDirty(burg);
+        if (burg != null) queryIndex.reindex(burg);
+        markSnapshotStale(burg);
+    }
+
+    /** Journals a change already applied to the burg instead of rewriting its shard. */
+    private void record(Burg burg, BurgMutation mutation) {
+        saveQueue.record(burg, mutation);
+        queryIndex.reindex(burg);
+        markSnapshotStale(burg);
+    }
+
+    /** Starts republishing the read snapshot after ticks that changed burgs. Call once after loadAll(). */
+    public void startSnapshots() {
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::endOfTick, 1L, 1L);
+    }
+
+    /**
+     * Applies a change to one burg from any thread.
+     *
+     * Off the main thread the change is handed to the server thread as a task (in either
+     * concurrency mode), because plots, the leader, taxes and the other per-burg fields are read
+     * there without a lock. Membership and claims feed the cross-burg indexes and must go
+     * through the main-thread API instead.
+     */
+    public <T> CompletableFuture<T> mutate(Burg burg, Function<Burg, T> change) {
+        if (burg == null || change == null) return CompletableFuture.failedFuture(new IllegalArgumentException("burg and change are required"));
+
+        if (Bukkit.isPrimaryThread()) return applyOnMainThread(burg, change);
+        return handToMainThread(burg, change);
+    }
+
+    /**
+     * Applies a treasury or food-stats change to one burg from any thread.
+     *
+     * In "striped" mode an off-thread change runs right away on the calling thread under the
+     * burg's stripe lock; the save, secondary indexes and snapshot catch up on the next tick.
+     * In "main-thread" mode it is handed to the server thread like {@link #mutate}.
+     * The change only sees the {@link BurgLedger} view, whose fields are safe to share.
+     */
+    public <T> CompletableFuture<T> mutateLedger(Burg burg, Function<BurgLedger, T> change) {
+        if (burg == null || change == null) return CompletableFuture.failedFuture(new IllegalArgumentException("burg and change are required"));
+
+        Function<Burg, T> asBurg = change::apply;
+        if (Bukkit.isPrimaryThread()) return applyOnMainThread(burg, asBurg);
+        if (!locks.isEnabled()) return handToMainThread(burg, asBurg);
+
+        try {
+            T result = locked(burg, asBurg);
+            changedOffThread.add(burg);
+            return CompletableFuture.completedFuture(result);
+        } catch (RuntimeException e) {
+            changedOffThread.add(burg);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> applyOnMainThread(Burg burg, Function<Burg, T> change) {
+        try {
+            T result = locked(burg, change);
+            save(burg);
+            return CompletableFuture.completedFuture(result);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> handToMainThread(Burg burg, Function<Burg, T> change) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Bukkit.getScheduler().runTask(plugin, () -> applyOnMainThread(burg, change).whenComplete((r, e) -> {
+            if (e != null) future.completeExceptionally(e);
+            else future.complete(r);
+        }));
+        return future;
+    }
+
+    /** The lock guarding this burg's fields; a no-op unless concurrency.mode is "striped". */
+    public Lock lockFor(Burg burg) {
+        return locks.lockFor(burg);
+    }
+
+    private <T> T locked(Burg burg, Function<Burg, T> body) {
+        Lock lock = locks.lockFor(burg);
+        lock.lock();
+        try {
+            return body.apply(burg);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void locked(Burg burg, Runnable body) {
+        Lock lock = locks.lockFor(burg);
+        lock.lock();
+        try {
+            body.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drainOffThreadChanges() {
+        Burg burg;
+        while ((burg = changedOffThread.poll()) != null) {
+            Burg changed = burg;
+            locked(changed, () -> save(changed));
+        }
+    }
+
+    private void endOfTick() {
+        drainOffThreadChanges();
+        publishSnapshotIfStale();
+    }
+
+    /**
+     * Latest immutable view of all burgs, members and claims. Safe to call from any thread;
+     * it trails main-thread changes by at most one tick.
+     */
+    public BurgSnapshot snapshot() {
+        return snapshot;
+    }
+
+    private void markSnapshotStale(Burg burg) {
+        if (burg != null) snapshotChanged.add(burg.getId());
+        snapshotStale = true;
+    }
+
+    private void publishSnapshotIfStale() {
+        if (!snapshotStale) return;
+        snapshot = BurgSnapshot.build(snapshot, burgsById.values(), snapshotChanged, locks::lockFor);
+        snapshotChanged.clear();
+        snapshotStale = false;
+    }
+
+    /** On disable: save everything and wait (bounded) for the writer to drain. */
+    public void shutdown() {
+        drainOffThreadChanges();
+        for (Burg burg : burgsById.values()) {
+            saveQueue.markDirty(burg);
+        }
+        saveQueue.shutdown();
+    }
+
+    public Collection<Burg> getAllBurgs() {
+        return Collections.unmodifiableCollection(burgsById.values());
     }
 
     public Burg getBurgByMember(UUID playerId) {
-        String id = memberToBurgId.get(playerId);
-        return (id == null) ? null : burgsById.get(id);
+        return members.burgOf(playerId);
+    }
+
+    /** Members of this burg who are online right now (read-only live view, main thread). */
+    public Set<UUID> getOnlineMembers(Burg burg) {
+        return members.onlineMembers(burg);
+    }
+
+    public int getOnlineMemberCount(Burg burg) {
+        return members.onlineMembers(burg).size();
+    }
+
+    /** Join/quit hooks keeping the online member sets current. */
+    public void playerJoined(UUID playerId) {
+        if (playerId != null) members.playerOnline(playerId);
+    }
+
+    public void playerQuit(UUID playerId) {
+        if (playerId != null) members.playerOffline(playerId);
+    }
+
+    /**
+     * Re-clamps the cached Y bounds of every loaded plot in this world.
+     * Pass null for the world when it unloads. Burgs whose plots are still unbuilt resolve on first use.
+     */
+    public void refreshPlotBounds(UUID worldId, World world) {
+        if (worldId == null) return;
+        for (Burg burg : burgsById.values()) {
+            if (!burg.arePlotsLoaded()) continue;
+            for (Plot plot : burg.getPlots().values()) {
+                if (worldId.equals(plot.getWorldId())) plot.refreshBounds(world);
+            }
+        }
+    }
+
+    private boolean isOnline(UUID playerId) {
+        return plugin.getServer().getPlayer(playerId) != null;
+    }
+
+    /** The burg this player leads, or null. */
+    public Burg getBurgByLeader(UUID leader) {
+        return queryIndex.byLeader(leader);
+    }
+
+    /** The burg owning this treasury wallet, or null. */
+    public Burg getBurgByTreasury(UUID treasuryUuid) {
+        return queryIndex.byTreasury(treasuryUuid);
+    }
+
+    /** Burgs that adopted this currency (case-insensitive); read-only live view. */
+    public Set<Burg> getBurgsByCurrency(String currencyCode) {
+        return queryIndex.byCurrency(currencyCode);
+    }
+
+    /** Burgs at this polity stage; read-only live view. */
+    public Set<Burg> getBurgsByStage(PolityStage stage) {
+        return queryIndex.byStage(stage);
     }
 
     public boolean burgExists(String name) {
-        return burgsById.values().stream().anyMatch(b -> b.getName().equalsIgnoreCase(name));
+        return getBurgByName(name) != null;
+    }
+
+    /** Case-insensitive exact lookup by burg name. */
+    public Burg getBurgByName(String name) {
+        String key = normalizeName(name);
+        return (key == null) ? null : burgsByName.get(key);
+    }
+
+    /**
+     * Burg names starting with the given prefix (case-insensitive), in alphabetical order.
+     * Used for tab completion of burg-name arguments.
+     */
+    public List<String> findBurgNamesByPrefix(String prefix, int limit) {
+        String key = normalizeName(prefix == null ? "" : prefix);
+        if (key == null) key = "";
+
+        NavigableMap<String, Burg> range = key.isEmpty()
+                ? burgNamesSorted
+                : burgNamesSorted.subMap(key, true, key + Character.MAX_VALUE, false);
+
+        List<String> out = new ArrayList<>(Math.min(limit, range.size()));
+        for (Burg burg : range.values()) {
+            if (out.size() >= limit) break;
+            out.add(burg.getName());
+        }
+        return out;
+    }
+
+    /**
+     * Renames a burg, keeping the name index current.
+     * Returns false if the name is blank or another burg already uses it.
+     */
+    public boolean renameBurg(Burg burg, String newName) {
+        if (burg == null || newName == null) return false;
+        String trimmed = newName.trim();
+        String key = normalizeName(trimmed);
+        if (key == null) return false;
+
+        Burg existing = burgsByName.get(key);
+        if (existing != null && existing != burg) return false;
+
+        unindexName(burg);
+        locked(burg, () -> {
+            burg.setName(trimmed);
+            save(burg);
+        });
+        indexName(burg);
+        return true;
+    }
+
+    private boolean indexName(Burg burg) {
+        String key = normalizeName(burg.getName());
+        if (key == null || burgsByName.containsKey(key)) return false;
+        burgsByName.put(key, burg);
+        burgNamesSorted.put(key, burg);
+        return true;
+    }
+
+    private void unindexName(Burg burg) {
+        String key = normalizeName(burg.getName());
+        if (key == null || burgsByName.get(key) != burg) return;
+        burgsByName.remove(key);
+        burgNamesSorted.remove(key);
+    }
+
+    private static String normalizeName(String name) {
+        if (name == null) return null;
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
     }
 
     public boolean isClaimed(ChunkClaim claim) {
-        return claimKeyToBurgId.containsKey(claim.toKey());
+        return claim != null && claimIndex.contains(claim.getWorldId(), claim.getChunkX(), claim.getChunkZ());
     }
 
     /**
@@ -92,21 +466,26 @@ public class BurgManager {
      * Returns null for wilderness.
      */
     public Burg getBurgByClaim(ChunkClaim claim) {
-        String id = claimKeyToBurgId.get(claim.toKey());
-        return (id == null) ? null : burgsById.get(id);
+        if (claim == null) return null;
+        return claimIndex.get(claim.getWorldId(), claim.getChunkX(), claim.getChunkZ());
     }
 
     /**
      * Convenience: burg at player location (or null if wilderness).
+     * Hot path for protection checks: no ChunkClaim or key string is built.
      */
     public Burg getBurgAt(Location loc) {
-        if (loc == null || loc.getWorld() == null) return null;
+        if (loc == null) return null;
+        World world = loc.getWorld();
+        if (world == null) return null;
 
-        int cx = loc.getBlockX() >> 4;
-        int cz = loc.getBlockZ() >> 4;
+        return claimIndex.get(world.getUID(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+    }
 
-        ChunkClaim claim = new ChunkClaim(loc.getWorld().getUID(), cx, cz);
-        return getBurgByClaim(claim);
+    /** Burg owning the chunk (or null), for callers that already have chunk coords, e.g. explosion filtering. */
+    public Burg getBurgAt(UUID worldId, int chunkX, int chunkZ) {
+        if (worldId == null) return null;
+        return claimIndex.get(worldId, chunkX, chunkZ);
     }
 
     /**
@@ -124,17 +503,19 @@ public class BurgManager {
     public ClaimResult tryAddClaimDetailed(Burg burg, ChunkClaim claim) {
         if (burg == null || claim == null) return ClaimResult.INVALID;
 
-        String owner = claimKeyToBurgId.get(claim.toKey());
-        if (owner != null) return ClaimResult.ALREADY_CLAIMED;
+        if (isClaimed(claim)) return ClaimResult.ALREADY_CLAIMED;
 
         if (!burg.isWithinCharter(claim)) return ClaimResult.OUTSIDE_CHARTER;
         if (burg.getClaimCount() >= Burg.BURG_MAX_CLAIMS) return ClaimResult.MAX_SIZE;
 
-        boolean added = burg.addClaim(claim);
+        boolean added = locked(burg, b -> {
+            if (!b.addClaim(claim)) return false;
+            record(b, BurgMutation.claimAdded(b, claim));
+            return true;
+        });
         if (!added) return ClaimResult.ALREADY_CLAIMED;
 
-        claimKeyToBurgId.put(claim.toKey(), burg.getId());
-        storage.saveBurg(burg);
+        claimIndex.put(claim, burg);
         return ClaimResult.SUCCESS;
     }
 
@@ -148,37 +529,33 @@ public class BurgManager {
     /**
      * Finds an existing burg whose fixed 5x5 charter overlaps the proposed charter.
      * Borders may touch; overlapping chunks are rejected.
+     * Only the grid cells around the proposed home are examined.
      */
     public Burg findOverlappingCharter(UUID worldId, int proposedHomeChunkX, int proposedHomeChunkZ) {
         if (worldId == null) return null;
+        return charterGrid.findOverlapping(worldId, proposedHomeChunkX, proposedHomeChunkZ);
+    }
 
-        int minimumCenterSeparation = Burg.BURG_CLAIM_RADIUS * 2 + 1;
-
-        for (Burg existing : burgsById.values()) {
-            if (existing == null || existing.getWorldId() == null) continue;
-            if (!worldId.equals(existing.getWorldId())) continue;
-
-            int dx = Math.abs(proposedHomeChunkX - existing.getHomeChunkX());
-            int dz = Math.abs(proposedHomeChunkZ - existing.getHomeChunkZ());
-
-            if (dx < minimumCenterSeparation && dz < minimumCenterSeparation) {
-                return existing;
-            }
-        }
-
-        return null;
+    /**
+     * Nearest burg by home chunk (Chebyshev distance) within maxChunks, or null.
+     */
+    public Burg findNearestBurg(UUID worldId, int chunkX, int chunkZ, int maxChunks) {
+        if (worldId == null) return null;
+        return charterGrid.findNearest(worldId, chunkX, chunkZ, maxChunks);
     }
 
     public boolean tryRemoveClaim(Burg burg, ChunkClaim claim) {
-        String owner = claimKeyToBurgId.get(claim.toKey());
-        if (owner == null) return false;
-        if (!owner.equals(burg.getId())) return false;
-
-        boolean removed = burg.removeClaim(claim);
+        if (burg == null || claim == null) return false;
+        if (getBurgByClaim(claim) != burg) return false;
+
+        boolean removed = locked(burg, b -> {
+            if (!b.removeClaim(claim)) return false;
+            record(b, BurgMutation.claimRemoved(b, claim));
+            return true;
+        });
         if (!removed) return false;
 
-        claimKeyToBurgId.remove(claim.toKey());
-        storage.saveBurg(burg);
+        claimIndex.remove(claim);
         return true;
     }
 
@@ -207,13 +584,13 @@ public class BurgManager {
 
         // Index members + claims
         for (UUID member : burg.getMembers()) {
-            memberToBurgId.put(member, burg.getId());
-        }
-        for (ChunkClaim claim : burg.getClaims()) {
-            claimKeyToBurgId.put(claim.toKey(), burg.getId());
+            members.put(member, burg, isOnline(member));
         }
+        claimIndex.register(burg);
+        charterGrid.add(burg);
+        indexName(burg);
 
-        storage.saveBurg(burg);
+        save(burg);
         return burg;
     }
 
@@ -224,17 +601,18 @@ public class BurgManager {
         if (burg == null) return false;
 
         // remove from burg members list/set
-        burg.getMembers().remove(playerId);
+        locked(burg, () -> {
+            burg.removeMember(playerId);
+            record(burg, BurgMutation.memberLeft(burg, playerId));
+        });
 
         // remove from index map (THIS is what was keeping them "in a burg")
-        memberToBurgId.remove(playerId);
+        members.remove(playerId);
 
         // if they were leader, clear leader here (or leave it for caller to handle succession)
         if (burg.getLeaderUuid() != null && burg.getLeaderUuid().equals(playerId)) {
-            burg.setLeaderUuid(null); // or whatever your setter is
+            setLeader(burg, null);
         }
-
-        save(burg);
         return true;
     }
 
@@ -253,12 +631,68 @@ public class BurgManager {
         // already a member of this burg?
         if (burg.getMembers().contains(player)) return false;
 
-        burg.getMembers().add(player);
-        memberToBurgId.put(player, burg.getId());
-        save(burg);
+        locked(burg, () -> {
+            burg.addMember(player);
+            record(burg, BurgMutation.memberJoined(burg, player));
+        });
+        members.put(player, burg, isOnline(player));
         return true;
     }
 
+    /* ================= Journaled mutations ================= */
+
+    public void setLeader(Burg burg, UUID leader) {
+        if (burg == null) return;
+        locked(burg, () -> {
+            burg.setLeaderUuid(leader);
+            record(burg, BurgMutation.leaderChanged(burg));
+        });
+    }
+
+    public void setSalesTaxRate(Burg burg, double rate) {
+        if (burg == null) return;
+        locked(burg, () -> {
+            burg.setSalesTaxRate(rate);
+            record(burg, BurgMutation.taxChanged(burg));
+        });
+    }
+
+    public void setMoneychangerFeeRate(Burg burg, double rate) {
+        if (burg == null) return;
+        locked(burg, () -> {
+            burg.setMoneychangerFeeRate(rate);
+            record(burg, BurgMutation.taxChanged(burg));
+        });
+    }
+
+    public void setPlotOwner(Burg burg, Plot plot, UUID owner) {
+        if (burg == null || plot == null) return;
+        locked(burg, () -> {
+            plot.setOwnerUuid(owner);
+            record(burg, BurgMutation.plotOwnerChanged(burg, plot));
+        });
+    }
+
+    /** Lists a plot for sale at the given price, or withdraws it when forSale is false. */
+    public void setPlotListing(Burg burg, Plot plot, boolean forSale, long price, String currencyCode) {
+        if (burg == null || plot == null) return;
+        locked(burg, () -> {
+            plot.setSalePrice(price);
+            plot.setSaleCurrencyCode(currencyCode);
+            plot.setForSale(forSale);
+            record(burg, BurgMutation.plotListingChanged(burg, plot));
+        });
+    }
+
+    /** Credits the burg's display ledger (the MPC wallet is the source of truth for money). */
+    public void creditTreasury(Burg burg, String code, long amount) {
+        if (burg == null || code == null || amount <= 0) return;
+        locked(burg, () -> {
+            burg.creditTreasury(code, amount);
+            record(burg, BurgMutation.treasuryChanged(burg, code.toUpperCase(Locale.ROOT)));
+        });
+    }
+
     public double getMoneychangerFeeAt(Location loc) {
         Burg burg = getBurgAt(loc);
         return burg != null ? burg.getMoneychangerFeeRate() : 0.0;
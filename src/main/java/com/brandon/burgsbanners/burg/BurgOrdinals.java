@@ -0,0 +1,59 @@
+package com.brandon.burgsbanners.burg;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dense small-int ids for loaded burgs, so primitive indexes can store an int instead of a
+ * burg id string and resolve it with one array read. Ordinals are handed out in order and
+ * only reset by {@link #clear}.
+ * Main thread only.
+ */
+final class BurgOrdinals {
+
+    static final int NONE = -1;
+
+    private final Map<String, Integer> ordinalByBurgId = new HashMap<>();
+    private Burg[] burgs = new Burg[16];
+    private int next;
+
+    /** The burg's ordinal, assigning one if it has none yet. */
+    int assign(Burg burg) {
+        Integer existing = ordinalByBurgId.get(burg.getId());
+        if (existing != null) {
+            burgs[existing] = burg;
+            return existing;
+        }
+
+        int ordinal = next++;
+        if (ordinal >= burgs.length) burgs = Arrays.copyOf(burgs, burgs.length << 1);
+        burgs[ordinal] = burg;
+        ordinalByBurgId.put(burg.getId(), ordinal);
+        return ordinal;
+    }
+
+    int of(Burg burg) {
+        Integer ordinal = (burg == null) ? null : ordinalByBurgId.get(burg.getId());
+        return (ordinal == null) ? NONE : ordinal;
+    }
+
+    Burg get(int ordinal) {
+        return (ordinal < 0 || ordinal >= burgs.length) ? null : burgs[ordinal];
+    }
+
+    /** Highest ordinal handed out so far, plus one. */
+    int capacity() {
+        return next;
+    }
+
+    void clear() {
+        ordinalByBurgId.clear();
+        Arrays.fill(burgs, null);
+        next = 0;
+    }
+
+    Iterable<Burg> all() {
+        return () -> Arrays.stream(burgs, 0, next).iterator();
+    }
+}
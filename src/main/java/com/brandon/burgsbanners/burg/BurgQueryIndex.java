@@ -0,0 +1,96 @@
+package com.brandon.burgsbanners.burg;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Secondary lookups by leader, treasury, adopted currency and polity stage.
+ *
+ * BurgManager calls {@link #reindex} whenever a burg is saved or journaled; the keys the burg
+ * was last filed under are remembered, so a reindex only moves the entries that changed.
+ * Main thread only.
+ */
+final class BurgQueryIndex {
+
+    /** The keys a burg is currently filed under. */
+    private record Keys(UUID leader, UUID treasury, String currency, PolityStage stage) {
+        static Keys of(Burg burg) {
+            String code = burg.getAdoptedCurrencyCode();
+            return new Keys(
+                    burg.getLeaderUuid(),
+                    burg.getTreasuryUuid(),
+                    (code == null) ? null : code.toUpperCase(Locale.ROOT),
+                    burg.getPolityStage()
+            );
+        }
+    }
+
+    private final Map<String, Keys> keysByBurgId = new HashMap<>();
+    private final Map<UUID, Burg> byLeader = new HashMap<>();
+    private final Map<UUID, Burg> byTreasury = new HashMap<>();
+    private final Map<String, Set<Burg>> byCurrency = new HashMap<>();
+    private final Map<PolityStage, Set<Burg>> byStage = new EnumMap<>(PolityStage.class);
+
+    void reindex(Burg burg) {
+        Keys now = Keys.of(burg);
+        Keys before = keysByBurgId.put(burg.getId(), now);
+        if (now.equals(before)) return;
+
+        if (before != null) unfile(burg, before);
+        file(burg, now);
+    }
+
+    void clear() {
+        keysByBurgId.clear();
+        byLeader.clear();
+        byTreasury.clear();
+        byCurrency.clear();
+        byStage.clear();
+    }
+
+    Burg byLeader(UUID leader) {
+        return (leader == null) ? null : byLeader.get(leader);
+    }
+
+    Burg byTreasury(UUID treasury) {
+        return (treasury == null) ? null : byTreasury.get(treasury);
+    }
+
+    Set<Burg> byCurrency(String code) {
+        if (code == null) return Set.of();
+        Set<Burg> set = byCurrency.get(code.toUpperCase(Locale.ROOT));
+        return (set == null) ? Set.of() : Collections.unmodifiableSet(set);
+    }
+
+    Set<Burg> byStage(PolityStage stage) {
+        Set<Burg> set = (stage == null) ? null : byStage.get(stage);
+        return (set == null) ? Set.of() : Collections.unmodifiableSet(set);
+    }
+
+    private void file(Burg burg, Keys keys) {
+        if (keys.leader() != null) byLeader.put(keys.leader(), burg);
+        if (keys.treasury() != null) byTreasury.put(keys.treasury(), burg);
+        if (keys.currency() != null) byCurrency.computeIfAbsent(keys.currency(), k -> new LinkedHashSet<>()).add(burg);
+        if (keys.stage() != null) byStage.computeIfAbsent(keys.stage(), k -> new LinkedHashSet<>()).add(burg);
+    }
+
+    private void unfile(Burg burg, Keys keys) {
+        if (keys.leader() != null) byLeader.remove(keys.leader(), burg);
+        if (keys.treasury() != null) byTreasury.remove(keys.treasury(), burg);
+        if (keys.currency() != null) removeFrom(byCurrency, keys.currency(), burg);
+        if (keys.stage() != null) removeFrom(byStage, keys.stage(), burg);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Burg>> index, K key, Burg burg) {
+        Set<Burg> set = index.get(key);
+        if (set == null) return;
+        set.remove(burg);
+        if (set.isEmpty()) index.remove(key);
+    }
+}
@@ -0,0 +1,125 @@
+package com.brandon.burgsbanners.burg;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned view of burg state for off-thread readers (scans, map rendering, exports).
+ *
+ * BurgManager publishes a new one at the end of any tick that changed burgs; readers grab
+ * {@link BurgManager#snapshot()} once and work from it lock-free. Nothing here is live:
+ * changes made after publication show up in the next version.
+ */
+public final class BurgSnapshot {
+
+    /** Read-only copy of one burg's summary fields. */
+    public record BurgSummary(
+            String id,
+            String name,
+            PolityStage stage,
+            UUID leaderUuid,
+            UUID treasuryUuid,
+            String adoptedCurrencyCode,
+            UUID worldId,
+            int homeX,
+            int homeY,
+            int homeZ,
+            Set<UUID> members,
+            Set<ChunkClaim> claims,
+            int plotCount
+    ) {
+        static BurgSummary of(Burg burg) {
+            return new BurgSummary(
+                    burg.getId(),
+                    burg.getName(),
+                    burg.getPolityStage(),
+                    burg.getLeaderUuid(),
+                    burg.getTreasuryUuid(),
+                    burg.getAdoptedCurrencyCode(),
+                    burg.getWorldId(),
+                    burg.getHomeX(),
+                    burg.getHomeY(),
+                    burg.getHomeZ(),
+                    Set.copyOf(burg.getMembers()),
+                    Set.copyOf(burg.getClaims()),
+                    burg.getPlotCount()
+            );
+        }
+    }
+
+    static final BurgSnapshot EMPTY = new BurgSnapshot(0L, Map.of(), Map.of(), Map.of());
+
+    private final long version;
+    private final Map<String, BurgSummary> burgsById;
+    private final Map<UUID, String> memberToBurgId;
+    private final Map<ChunkClaim, String> claimToBurgId;
+
+    private BurgSnapshot(long version,
+                         Map<String, BurgSummary> burgsById,
+                         Map<UUID, String> memberToBurgId,
+                         Map<ChunkClaim, String> claimToBurgId) {
+        this.version = version;
+        this.burgsById = burgsById;
+        this.memberToBurgId = memberToBurgId;
+        this.claimToBurgId = claimToBurgId;
+    }
+
+    /**
+     * Builds the next version, reusing summaries of burgs that did not change since {@code previous}.
+     */
+    static BurgSnapshot build(BurgSnapshot previous, Collection<Burg> burgs, Set<String> changedIds,
+                              Function<Burg, Lock> lockFor) {
+        Map<String, BurgSummary> byId = new HashMap<>(burgs.size() * 2);
+        Map<UUID, String> members = new HashMap<>();
+        Map<ChunkClaim, String> claims = new HashMap<>();
+
+        for (Burg burg : burgs) {
+            BurgSummary summary = previous.burgsById.get(burg.getId());
+            if (summary == null || changedIds.contains(burg.getId())) {
+                Lock lock = lockFor.apply(burg);
+                lock.lock();
+                try {
+                    summary = BurgSummary.of(burg);
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            byId.put(summary.id(), summary);
+            for (UUID member : summary.members()) members.put(member, summary.id());
+            for (ChunkClaim claim : summary.claims()) claims.put(claim, summary.id());
+        }
+
+        return new BurgSnapshot(previous.version + 1, Map.copyOf(byId), Map.copyOf(members), Map.copyOf(claims));
+    }
+
+    /** Increases by one with every publication. */
+    public long version() { return version; }
+
+    public Collection<BurgSummary> burgs() { return burgsById.values(); }
+
+    public BurgSummary getBurg(String id) {
+        return (id == null) ? null : burgsById.get(id);
+    }
+
+    public BurgSummary getBurgByMember(UUID playerId) {
+        String id = (playerId == null) ? null : memberToBurgId.get(playerId);
+        return (id == null) ? null : burgsById.get(id);
+    }
+
+    public BurgSummary getBurgByClaim(ChunkClaim claim) {
+        String id = (claim == null) ? null : claimToBurgId.get(claim);
+        return (id == null) ? null : burgsById.get(id);
+    }
+
+    public BurgSummary getBurgAt(UUID worldId, int chunkX, int chunkZ) {
+        return getBurgByClaim(ChunkClaim.of(worldId, chunkX, chunkZ));
+    }
+
+    public int claimCount() { return claimToBurgId.size(); }
+}
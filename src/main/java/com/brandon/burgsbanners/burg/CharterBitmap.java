@@ -0,0 +1,105 @@
+package com.brandon.burgsbanners.burg;
+
+/**
+ * Claims of one burg as a 25-bit mask over its 5x5 charter window (bit = row * 5 + col,
+ * with the home chunk at the centre). Neighbour, border and connectivity questions become
+ * a handful of shifts on one int. Claims outside the window are not tracked here.
+ */
+final class CharterBitmap {
+
+    static final int SIDE = Burg.BURG_CLAIM_RADIUS * 2 + 1;
+    private static final int FULL = (1 << (SIDE * SIDE)) - 1;
+    private static final int FIRST_COL;
+    private static final int LAST_COL;
+
+    static {
+        int first = 0;
+        int last = 0;
+        for (int row = 0; row < SIDE; row++) {
+            first |= 1 << (row * SIDE);
+            last |= 1 << (row * SIDE + SIDE - 1);
+        }
+        FIRST_COL = first;
+        LAST_COL = last;
+    }
+
+    private int mask;
+    private int border;
+    private int components;
+
+    int mask() { return mask; }
+    int border() { return border; }
+    int components() { return components; }
+
+    /** Bit index for a chunk offset from home, or -1 outside the window. */
+    static int bit(int dx, int dz) {
+        int col = dx + Burg.BURG_CLAIM_RADIUS;
+        int row = dz + Burg.BURG_CLAIM_RADIUS;
+        if (col < 0 || col >= SIDE || row < 0 || row >= SIDE) return -1;
+        return row * SIDE + col;
+    }
+
+    static int dx(int bit) { return bit % SIDE - Burg.BURG_CLAIM_RADIUS; }
+    static int dz(int bit) { return bit / SIDE - Burg.BURG_CLAIM_RADIUS; }
+
+    boolean has(int bit) {
+        return bit >= 0 && (mask & (1 << bit)) != 0;
+    }
+
+    void set(int bit) {
+        if (bit < 0) return;
+        mask |= 1 << bit;
+        refresh();
+    }
+
+    void clear(int bit) {
+        if (bit < 0) return;
+        mask &= ~(1 << bit);
+        refresh();
+    }
+
+    void reset() {
+        mask = 0;
+        refresh();
+    }
+
+    /** Adds a bit without refreshing; call {@link #refresh()} after a batch. */
+    void setQuietly(int bit) {
+        if (bit >= 0) mask |= 1 << bit;
+    }
+
+    /** True if removing this claimed bit would leave more components than there are now. */
+    boolean wouldSplit(int bit) {
+        if (!has(bit)) return false;
+        int rest = mask & ~(1 << bit);
+        return rest != 0 && countComponents(rest) > components;
+    }
+
+    void refresh() {
+        int interior = mask & west(mask) & east(mask) & north(mask) & south(mask);
+        border = mask & ~interior;
+        components = countComponents(mask);
+    }
+
+    // each helper marks the bits whose neighbour in that direction is set
+    private static int west(int m)  { return (m << 1) & ~FIRST_COL & FULL; }
+    private static int east(int m)  { return (m >>> 1) & ~LAST_COL; }
+    private static int north(int m) { return (m << SIDE) & FULL; }
+    private static int south(int m) { return m >>> SIDE; }
+
+    private static int countComponents(int m) {
+        int count = 0;
+        int left = m;
+        while (left != 0) {
+            int fill = Integer.lowestOneBit(left);
+            while (true) {
+                int grown = (fill | west(fill) | east(fill) | north(fill) | south(fill)) & m;
+                if (grown == fill) break;
+                fill = grown;
+            }
+            left &= ~fill;
+            count++;
+        }
+        return count;
+    }
+}
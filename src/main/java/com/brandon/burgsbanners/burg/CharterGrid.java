@@ -0,0 +1,98 @@
+package com.brandon.burgsbanners.burg;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Uniform grid of burg homes per world, for charter-overlap and nearest-burg queries.
+ *
+ * Cells are one charter-separation wide (2 * BURG_CLAIM_RADIUS + 1 chunks), so any charter
+ * overlapping a proposed one has its home in the same cell or one of the 8 around it.
+ * Main thread only.
+ */
+final class CharterGrid {
+
+    static final int CELL_CHUNKS = Burg.BURG_CLAIM_RADIUS * 2 + 1;
+
+    private final Map<UUID, Map<Long, List<Burg>>> cellsByWorld = new HashMap<>();
+
+    void add(Burg burg) {
+        if (burg == null || burg.getWorldId() == null) return;
+        cellsByWorld.computeIfAbsent(burg.getWorldId(), k -> new HashMap<>())
+                .computeIfAbsent(cellKey(burg.getHomeChunkX(), burg.getHomeChunkZ()), k -> new ArrayList<>(2))
+                .add(burg);
+    }
+
+    void clear() {
+        cellsByWorld.clear();
+    }
+
+    /** Returns a burg whose charter overlaps one centred on the given home chunk, or null. */
+    Burg findOverlapping(UUID worldId, int homeChunkX, int homeChunkZ) {
+        Map<Long, List<Burg>> cells = cellsByWorld.get(worldId);
+        if (cells == null) return null;
+
+        int cellX = Math.floorDiv(homeChunkX, CELL_CHUNKS);
+        int cellZ = Math.floorDiv(homeChunkZ, CELL_CHUNKS);
+
+        for (int gx = cellX - 1; gx <= cellX + 1; gx++) {
+            for (int gz = cellZ - 1; gz <= cellZ + 1; gz++) {
+                List<Burg> cell = cells.get(ClaimIndex.pack(gx, gz));
+                if (cell == null) continue;
+
+                for (Burg existing : cell) {
+                    int dx = Math.abs(homeChunkX - existing.getHomeChunkX());
+                    int dz = Math.abs(homeChunkZ - existing.getHomeChunkZ());
+                    if (dx < CELL_CHUNKS && dz < CELL_CHUNKS) return existing;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Nearest burg home (Chebyshev distance in chunks) within maxChunks, or null.
+     * Searches outward ring by ring and stops once no closer home can exist.
+     */
+    Burg findNearest(UUID worldId, int chunkX, int chunkZ, int maxChunks) {
+        Map<Long, List<Burg>> cells = cellsByWorld.get(worldId);
+        if (cells == null || maxChunks < 0) return null;
+
+        int cellX = Math.floorDiv(chunkX, CELL_CHUNKS);
+        int cellZ = Math.floorDiv(chunkZ, CELL_CHUNKS);
+        int maxRing = maxChunks / CELL_CHUNKS + 1;
+
+        Burg best = null;
+        int bestDist = maxChunks + 1;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // every home in ring r is at least (r - 1) * CELL_CHUNKS + 1 chunks away
+            if (ring > 0 && (ring - 1) * CELL_CHUNKS + 1 > bestDist) break;
+
+            for (int gx = cellX - ring; gx <= cellX + ring; gx++) {
+                for (int gz = cellZ - ring; gz <= cellZ + ring; gz++) {
+                    if (Math.max(Math.abs(gx - cellX), Math.abs(gz - cellZ)) != ring) continue;
+
+                    List<Burg> cell = cells.get(ClaimIndex.pack(gx, gz));
+                    if (cell == null) continue;
+
+                    for (Burg b : cell) {
+                        int d = Math.max(Math.abs(chunkX - b.getHomeChunkX()), Math.abs(chunkZ - b.getHomeChunkZ()));
+                        if (d < bestDist) {
+                            bestDist = d;
+                            best = b;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long cellKey(int homeChunkX, int homeChunkZ) {
+        return ClaimIndex.pack(Math.floorDiv(homeChunkX, CELL_CHUNKS), Math.floorDiv(homeChunkZ, CELL_CHUNKS));
+    }
+}
@@ -2,42 +2,91 @@ package com.brandon.burgsbanners.burg;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.block.Block;
 
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.UUID;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One claimed chunk. Immutable and safe to share across threads.
+ *
+ * Stored as a world ordinal plus packed chunk coords (x << 32 | z) with the hash precomputed,
+ * so equals/hashCode are a couple of primitive compares. {@link #of}, {@link #fromLocation}
+ * and {@link #fromBlock} return canonical instances from a small per-world cache and
+ * allocate nothing on a hit.
+ */
 public final class ChunkClaim {
 
-    private final UUID worldId;
-    private final int chunkX;
-    private final int chunkZ;
+    // ✅ world registry: UUID <-> dense ordinal (grows only; worlds are few)
+    private static final Map<UUID, Integer> WORLD_ORDINALS = new ConcurrentHashMap<>();
+    private static volatile UUID[] worldIds = new UUID[0];
+    private static volatile ChunkClaim[][] canonical = new ChunkClaim[0][];
+
+    // direct-mapped per world: a newer claim simply replaces whatever shared its slot
+    private static final int CACHE_SIZE = 4096;
+    private static final int NO_WORLD = -1;
+
+    private final int worldOrdinal;
+    private final long packed;
+    private final int hash;
 
     public ChunkClaim(UUID worldId, int chunkX, int chunkZ) {
-        this.worldId = worldId;
-        this.chunkX = chunkX;
-        this.chunkZ = chunkZ;
+        this(worldOrdinal(worldId), pack(chunkX, chunkZ));
     }
 
-    public UUID getWorldId() { return worldId; }
-    public int getChunkX() { return chunkX; }
-    public int getChunkZ() { return chunkZ; }
+    private ChunkClaim(int worldOrdinal, long packed) {
+        this.worldOrdinal = worldOrdinal;
+        this.packed = packed;
+        this.hash = hash(worldOrdinal, packed);
+    }
+
+    public UUID getWorldId() { return (worldOrdinal == NO_WORLD) ? null : worldIds[worldOrdinal]; }
+    public int getChunkX() { return (int) (packed >> 32); }
+    public int getChunkZ() { return (int) packed; }
 
+    /** Packed chunk coords: x in the high 32 bits, z in the low 32. */
+    public long getPacked() { return packed; }
 
     // --- compatibility aliases (older code / storage) ---
-    public int getX() { return chunkX; }
-    public int getZ() { return chunkZ; }
-    public UUID worldId() { return worldId; }
-    public int x() { return chunkX; }
-    public int z() { return chunkZ; }
+    public int getX() { return getChunkX(); }
+    public int getZ() { return getChunkZ(); }
+    public UUID worldId() { return getWorldId(); }
+    public int x() { return getChunkX(); }
+    public int z() { return getChunkZ(); }
 
     public String toKey() {
         // stable string key for maps & YAML: worldUUID:x:z
-        return worldId + ":" + chunkX + ":" + chunkZ;
+        return getWorldId() + ":" + getChunkX() + ":" + getChunkZ();
+    }
+
+    public static long pack(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /** Canonical instance for the given chunk. */
+    public static ChunkClaim of(UUID worldId, int chunkX, int chunkZ) {
+        return canonical(worldOrdinal(worldId), pack(chunkX, chunkZ));
+    }
+
+    /** Claim containing the location, or null without a world. Does not load the chunk. */
+    public static ChunkClaim fromLocation(Location loc) {
+        if (loc == null) return null;
+        World world = loc.getWorld();
+        if (world == null) return null;
+        return canonical(worldOrdinal(world.getUID()), pack(loc.getBlockX() >> 4, loc.getBlockZ() >> 4));
+    }
+
+    public static ChunkClaim fromBlock(Block block) {
+        if (block == null) return null;
+        return canonical(worldOrdinal(block.getWorld().getUID()), pack(block.getX() >> 4, block.getZ() >> 4));
     }
 
     public static ChunkClaim fromChunk(World world, Chunk chunk) {
-        return new ChunkClaim(world.getUID(), chunk.getX(), chunk.getZ());
+        return canonical(worldOrdinal(world.getUID()), pack(chunk.getX(), chunk.getZ()));
     }
 
     public static ChunkClaim fromKey(String key) {
@@ -52,25 +101,68 @@ public final class ChunkClaim {
         // Try UUID first
         try {
             UUID worldId = UUID.fromString(worldPart);
-            return new ChunkClaim(worldId, x, z);
+            return of(worldId, x, z);
         } catch (IllegalArgumentException ignored) {
             // Legacy: world name
             World w = Bukkit.getWorld(worldPart);
             if (w == null) return null;
-            return new ChunkClaim(w.getUID(), x, z);
+            return of(w.getUID(), x, z);
         }
     }
 
+    private static ChunkClaim canonical(int worldOrdinal, long packed) {
+        if (worldOrdinal == NO_WORLD) return new ChunkClaim(NO_WORLD, packed);
+
+        ChunkClaim[] cache = canonical[worldOrdinal];
+        int slot = hash(worldOrdinal, packed) & (CACHE_SIZE - 1);
+
+        ChunkClaim hit = cache[slot];
+        if (hit != null && hit.packed == packed) return hit;
+
+        // benign race: instances are immutable, the worst case is a duplicate equal claim
+        ChunkClaim created = new ChunkClaim(worldOrdinal, packed);
+        cache[slot] = created;
+        return created;
+    }
+
+    private static int worldOrdinal(UUID worldId) {
+        if (worldId == null) return NO_WORLD;
+        Integer ordinal = WORLD_ORDINALS.get(worldId);
+        return (ordinal != null) ? ordinal : registerWorld(worldId);
+    }
+
+    private static synchronized int registerWorld(UUID worldId) {
+        Integer existing = WORLD_ORDINALS.get(worldId);
+        if (existing != null) return existing;
+
+        int ordinal = worldIds.length;
+        UUID[] ids = Arrays.copyOf(worldIds, ordinal + 1);
+        ids[ordinal] = worldId;
+        ChunkClaim[][] caches = Arrays.copyOf(canonical, ordinal + 1);
+        caches[ordinal] = new ChunkClaim[CACHE_SIZE];
+
+        // publish the arrays before the ordinal becomes visible
+        worldIds = ids;
+        canonical = caches;
+        WORLD_ORDINALS.put(worldId, ordinal);
+        return ordinal;
+    }
+
+    private static int hash(int worldOrdinal, long packed) {
+        long h = (packed ^ ((long) worldOrdinal << 58)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof ChunkClaim that)) return false;
-        return chunkX == that.chunkX && chunkZ == that.chunkZ && Objects.equals(worldId, that.worldId);
+        return packed == that.packed && worldOrdinal == that.worldOrdinal;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(worldId, chunkX, chunkZ);
+        return hash;
     }
 
     @Override
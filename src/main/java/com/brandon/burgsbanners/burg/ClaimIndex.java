@@ -0,0 +1,166 @@
+package com.brandon.burgsbanners.burg;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Chunk -> burg index used on every protection check.
+ *
+ * Each world gets a primitive map from packed chunk coords to a dense burg ordinal
+ * (see {@link BurgOrdinals}), resolved with one array read, so {@link #get} allocates nothing.
+ * With region pages enabled, reads go through a {@link RegionClaimTable} per world instead;
+ * the hash maps stay authoritative for writes and ownership checks.
+ * Main thread only.
+ */
+final class ClaimIndex {
+
+    /** Per-world footprint of both structures, for the memory report. */
+    record WorldFootprint(UUID worldId, int claims, long hashBytes, int regionPages, long regionBytes) {}
+
+    private final Map<UUID, LongIntHashMap> byWorld = new HashMap<>();
+    private final BurgOrdinals ordinals;
+
+    // ✅ optional dense layer (null map = disabled)
+    private Map<UUID, RegionClaimTable> regionsByWorld;
+    private UUID lastRegionWorld;
+    private RegionClaimTable lastRegionTable;
+
+    ClaimIndex(BurgOrdinals ordinals, boolean regionPages) {
+        this.ordinals = ordinals;
+        this.regionsByWorld = regionPages ? new HashMap<>() : null;
+    }
+
+    static long pack(int chunkX, int chunkZ) {
+        return ChunkClaim.pack(chunkX, chunkZ);
+    }
+
+    boolean usesRegionPages() {
+        return regionsByWorld != null;
+    }
+
+    /** Assigns (or reuses) the burg's ordinal and indexes all of its claims. */
+    int register(Burg burg) {
+        int ordinal = ordinals.assign(burg);
+        if (ordinal > RegionClaimTable.MAX_ORDINAL) disableRegionPages();
+
+        for (ChunkClaim claim : burg.getClaims()) {
+            index(claim, ordinal);
+        }
+        return ordinal;
+    }
+
+    Burg get(UUID worldId, int chunkX, int chunkZ) {
+        int ordinal;
+        if (regionsByWorld != null) {
+            RegionClaimTable table = regionTable(worldId);
+            if (table == null) return null;
+            ordinal = table.get(chunkX, chunkZ);
+        } else {
+            LongIntHashMap map = byWorld.get(worldId);
+            if (map == null) return null;
+            ordinal = map.get(pack(chunkX, chunkZ));
+        }
+        return (ordinal == LongIntHashMap.MISSING) ? null : ordinals.get(ordinal);
+    }
+
+    boolean contains(UUID worldId, int chunkX, int chunkZ) {
+        LongIntHashMap map = byWorld.get(worldId);
+        return map != null && map.get(pack(chunkX, chunkZ)) != LongIntHashMap.MISSING;
+    }
+
+    /** Indexes one claim, registering the burg first if needed. */
+    void put(ChunkClaim claim, Burg burg) {
+        int ordinal = ordinals.of(burg);
+        if (ordinal == BurgOrdinals.NONE) ordinal = register(burg);
+        index(claim, ordinal);
+    }
+
+    void remove(ChunkClaim claim) {
+        UUID worldId = claim.getWorldId();
+        LongIntHashMap map = byWorld.get(worldId);
+        if (map == null) return;
+        if (map.remove(claim.getPacked()) != LongIntHashMap.MISSING) PermissionEpoch.bump();
+        if (map.size() == 0) byWorld.remove(worldId);
+
+        if (regionsByWorld != null) {
+            RegionClaimTable table = regionsByWorld.get(worldId);
+            if (table != null) {
+                table.clear(claim.getChunkX(), claim.getChunkZ());
+                if (table.pageCount() == 0) {
+                    regionsByWorld.remove(worldId);
+                    if (table == lastRegionTable) lastRegionTable = null;
+                }
+            }
+        }
+    }
+
+    int size() {
+        int total = 0;
+        for (LongIntHashMap map : byWorld.values()) total += map.size();
+        return total;
+    }
+
+    void clear() {
+        if (!byWorld.isEmpty()) PermissionEpoch.bump();
+        byWorld.clear();
+        if (regionsByWorld != null) regionsByWorld.clear();
+        lastRegionWorld = null;
+        lastRegionTable = null;
+    }
+
+    /**
+     * Footprint of the hash maps and (when enabled) the region pages, per world.
+     * Region figures are estimated from the claims if pages are off, so the two can be compared.
+     */
+    List<WorldFootprint> footprint() {
+        List<WorldFootprint> out = new ArrayList<>();
+        for (Map.Entry<UUID, LongIntHashMap> e : byWorld.entrySet()) {
+            UUID worldId = e.getKey();
+            LongIntHashMap map = e.getValue();
+
+            RegionClaimTable table = (regionsByWorld != null) ? regionsByWorld.get(worldId) : null;
+            if (table == null) {
+                table = new RegionClaimTable();
+                for (Burg burg : ordinals.all()) {
+                    for (ChunkClaim claim : burg.getClaims()) {
+                        if (worldId.equals(claim.getWorldId())) table.set(claim.getChunkX(), claim.getChunkZ(), 0);
+                    }
+                }
+            }
+            out.add(new WorldFootprint(worldId, map.size(), map.memoryBytes(), table.pageCount(), table.memoryBytes()));
+        }
+        return out;
+    }
+
+    private void index(ChunkClaim claim, int ordinal) {
+        UUID worldId = claim.getWorldId();
+        int previous = byWorld.computeIfAbsent(worldId, k -> new LongIntHashMap())
+                .put(claim.getPacked(), ordinal);
+        if (previous != ordinal) PermissionEpoch.bump();
+
+        if (regionsByWorld != null) {
+            regionsByWorld.computeIfAbsent(worldId, k -> new RegionClaimTable())
+                    .set(claim.getChunkX(), claim.getChunkZ(), ordinal);
+        }
+    }
+
+    private RegionClaimTable regionTable(UUID worldId) {
+        if (lastRegionTable != null && worldId != null && worldId.equals(lastRegionWorld)) return lastRegionTable;
+        RegionClaimTable table = regionsByWorld.get(worldId);
+        if (table != null) {
+            lastRegionWorld = worldId;
+            lastRegionTable = table;
+        }
+        return table;
+    }
+
+    /** Ordinals past what a short slot can hold: fall back to the hash maps for good. */
+    private void disableRegionPages() {
+        regionsByWorld = null;
+        lastRegionWorld = null;
+        lastRegionTable = null;
+    }
+}
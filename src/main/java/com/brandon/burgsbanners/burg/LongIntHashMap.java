@@ -0,0 +1,127 @@
+package com.brandon.burgsbanners.burg;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing long -> int map with no boxing (linear probing, backward-shift delete).
+ * Used by {@link ClaimIndex}, {@link PlotIndex} and {@link MemberRegistry}; not thread-safe.
+ */
+final class LongIntHashMap {
+
+    /** Returned by {@link #get} when the key is absent. Values must never equal it. */
+    static final int MISSING = -1;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;   // MISSING marks an empty slot
+    private int size;
+    private int resizeAt;
+
+    LongIntHashMap() {
+        this(16);
+    }
+
+    LongIntHashMap(int expected) {
+        int cap = Integer.highestOneBit(Math.max(16, (int) (expected / LOAD_FACTOR)) - 1) << 1;
+        allocate(cap);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Approximate heap footprint of this map (object + both backing arrays). */
+    long memoryBytes() {
+        return 32L + 16L + keys.length * 8L + 16L + values.length * 4L;
+    }
+
+    int get(long key) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (true) {
+            int v = values[i];
+            if (v == MISSING) return MISSING;
+            if (keys[i] == key) return v;
+            i = (i + 1) & mask;
+        }
+    }
+
+    /** @return the previous value, or MISSING */
+    int put(long key, int value) {
+        if (value == MISSING) throw new IllegalArgumentException("value reserved: " + value);
+
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (values[i] != MISSING) {
+            if (keys[i] == key) {
+                int old = values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) rehash(keys.length << 1);
+        return MISSING;
+    }
+
+    /** @return the removed value, or MISSING */
+    int remove(long key) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (true) {
+            int v = values[i];
+            if (v == MISSING) return MISSING;
+            if (keys[i] == key) break;
+            i = (i + 1) & mask;
+        }
+        int removed = values[i];
+
+        // backward-shift so later probes stay reachable without tombstones
+        int gap = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == MISSING) break;
+            int home = mix(keys[j]) & mask;
+            // move j into the gap unless its home slot lies cyclically in (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = MISSING;
+        size--;
+        return removed;
+    }
+
+    void clear() {
+        Arrays.fill(values, MISSING);
+        size = 0;
+    }
+
+    private void allocate(int cap) {
+        keys = new long[cap];
+        values = new int[cap];
+        Arrays.fill(values, MISSING);
+        resizeAt = (int) (cap * LOAD_FACTOR);
+    }
+
+    private void rehash(int cap) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(cap);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != MISSING) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
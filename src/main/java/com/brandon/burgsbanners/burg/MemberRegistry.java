@@ -0,0 +1,180 @@
+package com.brandon.burgsbanners.burg;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Player -> burg index plus each burg's currently online members.
+ *
+ * Players are keyed by a 64-bit mix of their UUID in a {@link LongIntHashMap} whose value is a
+ * slot in parallel primitive arrays holding the full UUID (two longs) and the burg's
+ * {@link BurgOrdinals} ordinal, so lookups box nothing and allocate nothing. Two UUIDs sharing a
+ * 64-bit mix are practically impossible; if it happens, the later one lives in a small overflow map.
+ * The online sets are kept current by join/quit events and membership changes, so successor
+ * picks, online counts and broadcasts never walk the full member list. Main thread only.
+ */
+final class MemberRegistry {
+
+    private static final int NONE = -1;
+
+    private final BurgOrdinals ordinals;
+
+    private final LongIntHashMap slotByKey = new LongIntHashMap(64);
+    private final Map<UUID, Integer> overflow = new HashMap<>();
+
+    // slot -> player + burg ordinal; freed slots are reused
+    private long[] msb = new long[64];
+    private long[] lsb = new long[64];
+    private int[] ordinalOf = new int[64];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int nextSlot;
+
+    @SuppressWarnings("unchecked")
+    private Set<UUID>[] online = new Set[16];
+
+    MemberRegistry(BurgOrdinals ordinals) {
+        this.ordinals = ordinals;
+    }
+
+    Burg burgOf(UUID player) {
+        if (player == null) return null;
+        int ordinal = ordinalOf(player);
+        return (ordinal == NONE) ? null : ordinals.get(ordinal);
+    }
+
+    /** Files the player under the burg; they count as online if {@code isOnline}. */
+    void put(UUID player, Burg burg, boolean isOnline) {
+        int ordinal = ordinals.assign(burg);
+        int previous = insert(player, ordinal);
+        if (previous != NONE && previous != ordinal) onlineSet(previous, false).remove(player);
+        if (isOnline) onlineSet(ordinal, true).add(player);
+    }
+
+    void remove(UUID player) {
+        if (player == null) return;
+        int ordinal = delete(player);
+        if (ordinal != NONE) onlineSet(ordinal, false).remove(player);
+    }
+
+    void playerOnline(UUID player) {
+        int ordinal = ordinalOf(player);
+        if (ordinal != NONE) onlineSet(ordinal, true).add(player);
+    }
+
+    void playerOffline(UUID player) {
+        int ordinal = ordinalOf(player);
+        if (ordinal != NONE) onlineSet(ordinal, false).remove(player);
+    }
+
+    /** Read-only live view of the burg's online members. */
+    Set<UUID> onlineMembers(Burg burg) {
+        int ordinal = ordinals.of(burg);
+        if (ordinal == BurgOrdinals.NONE || ordinal >= online.length || online[ordinal] == null) return Set.of();
+        return Collections.unmodifiableSet(online[ordinal]);
+    }
+
+    int size() {
+        return slotByKey.size() + overflow.size();
+    }
+
+    void clear() {
+        slotByKey.clear();
+        overflow.clear();
+        freeCount = 0;
+        nextSlot = 0;
+        Arrays.fill(online, null);
+    }
+
+    // ---- online sets ----
+
+    private Set<UUID> onlineSet(int ordinal, boolean create) {
+        if (ordinal >= online.length) {
+            if (!create) return new LinkedHashSet<>();
+            online = Arrays.copyOf(online, Math.max(online.length << 1, ordinal + 1));
+        }
+        Set<UUID> set = online[ordinal];
+        if (set == null) {
+            set = new LinkedHashSet<>();
+            if (create) online[ordinal] = set;
+        }
+        return set;
+    }
+
+    // ---- UUID -> ordinal (LongIntHashMap slot table + overflow) ----
+
+    private static long key(UUID player) {
+        long h = player.getMostSignificantBits() * 0x9E3779B97F4A7C15L;
+        return h ^ Long.rotateLeft(player.getLeastSignificantBits(), 31);
+    }
+
+    private boolean slotHolds(int slot, UUID player) {
+        return msb[slot] == player.getMostSignificantBits() && lsb[slot] == player.getLeastSignificantBits();
+    }
+
+    private int ordinalOf(UUID player) {
+        int slot = slotByKey.get(key(player));
+        if (slot != LongIntHashMap.MISSING && slotHolds(slot, player)) return ordinalOf[slot];
+        if (overflow.isEmpty()) return NONE;
+        Integer ordinal = overflow.get(player);
+        return (ordinal == null) ? NONE : ordinal;
+    }
+
+    /** @return the player's previous ordinal, or NONE */
+    private int insert(UUID player, int ordinal) {
+        long key = key(player);
+        int slot = slotByKey.get(key);
+        if (slot != LongIntHashMap.MISSING) {
+            if (slotHolds(slot, player)) {
+                int old = ordinalOf[slot];
+                ordinalOf[slot] = ordinal;
+                return old;
+            }
+            Integer old = overflow.put(player, ordinal);
+            return (old == null) ? NONE : old;
+        }
+
+        Integer old = overflow.remove(player);
+        slot = allocateSlot();
+        msb[slot] = player.getMostSignificantBits();
+        lsb[slot] = player.getLeastSignificantBits();
+        ordinalOf[slot] = ordinal;
+        slotByKey.put(key, slot);
+        return (old == null) ? NONE : old;
+    }
+
+    /** @return the ordinal the player was filed under, or NONE */
+    private int delete(UUID player) {
+        long key = key(player);
+        int slot = slotByKey.get(key);
+        if (slot != LongIntHashMap.MISSING && slotHolds(slot, player)) {
+            slotByKey.remove(key);
+            int old = ordinalOf[slot];
+            freeSlot(slot);
+            return old;
+        }
+        Integer old = overflow.remove(player);
+        return (old == null) ? NONE : old;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        if (nextSlot == ordinalOf.length) {
+            int cap = ordinalOf.length << 1;
+            msb = Arrays.copyOf(msb, cap);
+            lsb = Arrays.copyOf(lsb, cap);
+            ordinalOf = Arrays.copyOf(ordinalOf, cap);
+        }
+        return nextSlot++;
+    }
+
+    private void freeSlot(int slot) {
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount << 1);
+        freeSlots[freeCount++] = slot;
+    }
+}
@@ -0,0 +1,39 @@
+package com.brandon.burgsbanners.burg;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global counter bumped whenever something that decides build permission changes:
+ * claims, plots, plot owners or bounds, or a burg's leader.
+ *
+ * Permission caches remember the value they were filled at and treat any entry from an
+ * older epoch as stale, so changes never have to find and evict individual entries.
+ * Callers bump only on a real change; bulk loads hold bumps with {@link #suspend} and
+ * bump once in {@link #resume}.
+ */
+public final class PermissionEpoch {
+
+    private static final AtomicLong EPOCH = new AtomicLong();
+    private static final AtomicInteger SUSPENDED = new AtomicInteger();
+
+    private PermissionEpoch() {}
+
+    public static long current() {
+        return EPOCH.get();
+    }
+
+    public static void bump() {
+        if (SUSPENDED.get() == 0) EPOCH.incrementAndGet();
+    }
+
+    /** Holds bumps (e.g. while loading burgs); pair every call with {@link #resume}. */
+    public static void suspend() {
+        SUSPENDED.incrementAndGet();
+    }
+
+    /** Ends a {@link #suspend}; the outermost one bumps once for everything that changed meanwhile. */
+    public static void resume() {
+        if (SUSPENDED.decrementAndGet() == 0) EPOCH.incrementAndGet();
+    }
+}
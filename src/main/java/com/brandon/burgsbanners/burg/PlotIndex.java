@@ -0,0 +1,103 @@
+package com.brandon.burgsbanners.burg;
+
+import com.brandon.burgsbanners.burg.plot.Plot;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A burg's plots bucketed by the chunks they overlap, so a protection lookup only tests the
+ * few plots touching the block's chunk. Built from an immutable set of plots; the owning
+ * burg throws it away and rebuilds when a plot is added or replaced.
+ */
+final class PlotIndex {
+
+    static final PlotIndex EMPTY = new PlotIndex(Map.of(), new Plot[0][], new Plot[0]);
+
+    // a plot wider than this many chunks (bad data) is kept out of the buckets and always tested
+    private static final int MAX_CHUNKS_PER_PLOT = 1024;
+
+    private final Map<UUID, LongIntHashMap> bucketByWorld;
+    private final Plot[][] buckets;
+    private final Plot[] oversized;
+
+    private PlotIndex(Map<UUID, LongIntHashMap> bucketByWorld, Plot[][] buckets, Plot[] oversized) {
+        this.bucketByWorld = bucketByWorld;
+        this.buckets = buckets;
+        this.oversized = oversized;
+    }
+
+    static PlotIndex build(Collection<Plot> plots) {
+        if (plots.isEmpty()) return EMPTY;
+
+        Map<UUID, LongIntHashMap> byWorld = new HashMap<>();
+        List<List<Plot>> buckets = new ArrayList<>();
+        List<Plot> oversized = new ArrayList<>();
+
+        for (Plot plot : plots) {
+            if (plot == null || plot.getWorldId() == null) continue;
+
+            int minCx = Math.min(plot.getMinX(), plot.getMaxX()) >> 4;
+            int maxCx = Math.max(plot.getMinX(), plot.getMaxX()) >> 4;
+            int minCz = Math.min(plot.getMinZ(), plot.getMaxZ()) >> 4;
+            int maxCz = Math.max(plot.getMinZ(), plot.getMaxZ()) >> 4;
+
+            if ((long) (maxCx - minCx + 1) * (maxCz - minCz + 1) > MAX_CHUNKS_PER_PLOT) {
+                oversized.add(plot);
+                continue;
+            }
+
+            LongIntHashMap map = byWorld.computeIfAbsent(plot.getWorldId(), k -> new LongIntHashMap());
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                for (int cz = minCz; cz <= maxCz; cz++) {
+                    long key = ChunkClaim.pack(cx, cz);
+                    int bucket = map.get(key);
+                    if (bucket == LongIntHashMap.MISSING) {
+                        bucket = buckets.size();
+                        buckets.add(new ArrayList<>(2));
+                        map.put(key, bucket);
+                    }
+                    buckets.get(bucket).add(plot);
+                }
+            }
+        }
+
+        Plot[][] packed = new Plot[buckets.size()][];
+        for (int i = 0; i < packed.length; i++) packed[i] = buckets.get(i).toArray(new Plot[0]);
+        return new PlotIndex(byWorld, packed, oversized.toArray(new Plot[0]));
+    }
+
+    /** True when some plot overlaps the chunk (or might: oversized plots are not bucketed). */
+    boolean touches(UUID worldId, int chunkX, int chunkZ) {
+        if (oversized.length > 0) return true;
+        LongIntHashMap map = bucketByWorld.get(worldId);
+        return map != null && map.get(ChunkClaim.pack(chunkX, chunkZ)) != LongIntHashMap.MISSING;
+    }
+
+    /** The first plot containing the location, or null. */
+    Plot find(Location loc) {
+        World world = loc.getWorld();
+        if (world == null) return null;
+
+        LongIntHashMap map = bucketByWorld.get(world.getUID());
+        if (map != null) {
+            int bucket = map.get(ChunkClaim.pack(loc.getBlockX() >> 4, loc.getBlockZ() >> 4));
+            if (bucket != LongIntHashMap.MISSING) {
+                for (Plot plot : buckets[bucket]) {
+                    if (plot.contains(loc)) return plot;
+                }
+            }
+        }
+
+        for (Plot plot : oversized) {
+            if (plot.contains(loc)) return plot;
+        }
+        return null;
+    }
+}
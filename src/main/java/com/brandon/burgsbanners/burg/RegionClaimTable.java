@@ -0,0 +1,118 @@
+package com.brandon.burgsbanners.burg;
+
+import java.util.Arrays;
+
+/**
+ * Dense claim table for one world: 32x32-chunk region pages of burg ordinals.
+ *
+ * A page is a short[1024] allocated only once a region holds a claim and released when
+ * its last claim goes. Slots store ordinal + 1 (0 = wilderness), read as unsigned.
+ * The last page touched is cached, so scans over neighbouring blocks skip the region lookup.
+ * Main thread only.
+ */
+final class RegionClaimTable {
+
+    static final int REGION_SHIFT = 5;                    // 32 chunks per region side
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+    private static final int PAGE_SIZE = 1 << (REGION_SHIFT * 2);
+
+    /** Largest ordinal that fits in an unsigned short slot (65535 is ordinal 65534 + 1). */
+    static final int MAX_ORDINAL = 0xFFFF - 1;
+
+    private final LongIntHashMap pageByRegion = new LongIntHashMap();
+    private short[][] pages = new short[4][];
+    private int[] counts = new int[4];
+    private int pageSlots;
+    private int freePageHead = -1;   // free slots are chained through counts[]
+
+    private long lastRegion;
+    private short[] lastPage;
+
+    int get(int chunkX, int chunkZ) {
+        short[] page = page(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+        if (page == null) return LongIntHashMap.MISSING;
+        int v = page[slot(chunkX, chunkZ)] & 0xFFFF;
+        return v - 1;
+    }
+
+    void set(int chunkX, int chunkZ, int ordinal) {
+        if (ordinal < 0 || ordinal > MAX_ORDINAL) throw new IllegalArgumentException("ordinal out of range: " + ordinal);
+
+        long region = ClaimIndex.pack(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+        int index = pageByRegion.get(region);
+        if (index == LongIntHashMap.MISSING) {
+            index = allocatePage();
+            pageByRegion.put(region, index);
+        }
+
+        short[] page = pages[index];
+        int slot = slot(chunkX, chunkZ);
+        if (page[slot] == 0) counts[index]++;
+        page[slot] = (short) (ordinal + 1);
+    }
+
+    void clear(int chunkX, int chunkZ) {
+        long region = ClaimIndex.pack(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+        int index = pageByRegion.get(region);
+        if (index == LongIntHashMap.MISSING) return;
+
+        short[] page = pages[index];
+        int slot = slot(chunkX, chunkZ);
+        if (page[slot] == 0) return;
+        page[slot] = 0;
+
+        if (--counts[index] == 0) {
+            pageByRegion.remove(region);
+            releasePage(index);
+        }
+    }
+
+    int pageCount() {
+        return pageByRegion.size();
+    }
+
+    /** Approximate heap footprint (pages + region map + page directory). */
+    long memoryBytes() {
+        long perPage = 16L + PAGE_SIZE * 2L;
+        return pageCount() * perPage + pageByRegion.memoryBytes() + 16L + pages.length * 4L + 16L + counts.length * 4L;
+    }
+
+    private short[] page(int regionX, int regionZ) {
+        long region = ClaimIndex.pack(regionX, regionZ);
+        if (lastPage != null && lastRegion == region) return lastPage;
+
+        int index = pageByRegion.get(region);
+        if (index == LongIntHashMap.MISSING) return null;
+        lastRegion = region;
+        lastPage = pages[index];
+        return lastPage;
+    }
+
+    private int allocatePage() {
+        int index;
+        if (freePageHead >= 0) {
+            index = freePageHead;
+            freePageHead = counts[index];
+        } else {
+            index = pageSlots++;
+            if (index >= pages.length) {
+                pages = Arrays.copyOf(pages, pages.length << 1);
+                counts = Arrays.copyOf(counts, counts.length << 1);
+            }
+        }
+        pages[index] = new short[PAGE_SIZE];
+        counts[index] = 0;
+        return index;
+    }
+
+    private void releasePage(int index) {
+        if (lastPage == pages[index]) lastPage = null;
+        pages[index] = null;
+        counts[index] = freePageHead;
+        freePageHead = index;
+    }
+
+    private static int slot(int chunkX, int chunkZ) {
+        return ((chunkZ & REGION_MASK) << REGION_SHIFT) | (chunkX & REGION_MASK);
+    }
+}
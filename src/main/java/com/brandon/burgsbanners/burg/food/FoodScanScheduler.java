@@ -2,7 +2,6 @@ package com.brandon.burgsbanners.burg.food;
 
 import com.brandon.burgsbanners.burg.Burg;
 import com.brandon.burgsbanners.burg.BurgManager;
-import com.brandon.burgsbanners.burg.storage.BurgStorage;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -12,15 +11,13 @@ public class FoodScanScheduler {
 
     private final JavaPlugin plugin;
     private final BurgManager burgManager;
-    private final BurgStorage storage;
     private final FoodScanService scanService;
 
     private BukkitTask task;
 
-    public FoodScanScheduler(JavaPlugin plugin, BurgManager burgManager, BurgStorage storage, FoodScanService scanService) {
+    public FoodScanScheduler(JavaPlugin plugin, BurgManager burgManager, FoodScanService scanService) {
         this.plugin = plugin;
         this.burgManager = burgManager;
-        this.storage = storage;
         this.scanService = scanService;
     }
 
@@ -29,7 +26,7 @@ public class FoodScanScheduler {
         long periodTicks = hours * 60L * 60L * 20L;
 
         this.task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            for (Burg b : storage.loadAllBurgs().values()) {
+            for (Burg b : burgManager.getAllBurgs()) {
                 World w = Bukkit.getWorld(b.getWorldId());
                 if (w == null) continue;
 
@@ -37,7 +34,7 @@ public class FoodScanScheduler {
                 b.setBaseFoodCapacity(r.baseFoodCapacity());
                 b.setLastFoodPoints(r.totalFoodPoints());
                 b.setLastScanEpochSeconds(System.currentTimeMillis() / 1000L);
-                storage.saveBurg(b);
+                burgManager.save(b);
             }
             plugin.getLogger().info("Food rescan complete.");
         }, periodTicks, periodTicks);
@@ -1,13 +1,21 @@
 package com.brandon.burgsbanners.burg.plot;
 
+import com.brandon.burgsbanners.burg.PermissionEpoch;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 
+import java.util.Objects;
 import java.util.UUID;
 
 public class Plot {
 
+    // Dirty fields (what changed since the last persist)
+    public static final int DIRTY_OWNER = 1;
+    public static final int DIRTY_LISTING = 1 << 1;    // forSale, price, currency
+    public static final int DIRTY_OTHER = 1 << 2;      // name, lien
+    public static final int DIRTY_ALL = DIRTY_OWNER | DIRTY_LISTING | DIRTY_OTHER;
+
     // At least 64 vertical blocks of protection (we use +/-32 inclusive = 65 blocks)
     private static final int VERTICAL_HALF_SPAN = 32;
 
@@ -25,6 +33,14 @@ public class Plot {
     private final int minX, minY, minZ;
     private final int maxX, maxY, maxZ;
 
+    // vertical span before world clamping (legacy short plots expanded around their midpoint)
+    private final int spanMinY, spanMaxY;
+
+    // effective Y bounds clamped to the world's build height; resolved on first use and
+    // refreshed by refreshBounds() when the world loads or unloads
+    private int effectiveMinY, effectiveMaxY;
+    private boolean boundsResolved;
+
     // Sale data
     private boolean forSale = false;
     private long salePrice = 0L;
@@ -34,6 +50,9 @@ public class Plot {
     private UUID ownerUuid;       // Player who owns/builds here (set by mayor)
     private UUID lienHolderUuid;  // Bank/burg holding lien (future)
 
+    // a new plot is dirty until its burg is persisted
+    private int dirtyFields = DIRTY_ALL;
+
     public Plot(UUID plotUuid,
                 String id,
                 String name,
@@ -53,6 +72,17 @@ public class Plot {
         this.maxX = maxX;
         this.maxY = maxY;
         this.maxZ = maxZ;
+
+        int rawMin = Math.min(minY, maxY);
+        int rawMax = Math.max(minY, maxY);
+        if (rawMax - rawMin + 1 < 64) {
+            int mid = (rawMin + rawMax) / 2;
+            this.spanMinY = mid - VERTICAL_HALF_SPAN;
+            this.spanMaxY = mid + VERTICAL_HALF_SPAN;
+        } else {
+            this.spanMinY = rawMin;
+            this.spanMaxY = rawMax;
+        }
     }
 
     public UUID getPlotUuid() { return plotUuid; }
@@ -65,31 +95,64 @@ public class Plot {
     public int getMaxX() { return maxX; }
     public int getMaxZ() { return maxZ; }
 
+    /** Y bounds as created, before expansion and world clamping; what storage persists. */
+    public int getStoredMinY() { return minY; }
+    public int getStoredMaxY() { return maxY; }
+
     /**
      * IMPORTANT:
      * These return the EFFECTIVE Y range (expanded to at least 64 blocks tall).
      * This keeps BurgCommand overlap checks consistent with protection behavior.
      */
-    public int getMinY() { return effectiveMinY(); }
-    public int getMaxY() { return effectiveMaxY(); }
+    public int getMinY() {
+        if (!boundsResolved) refreshBounds(getWorld());
+        return effectiveMinY;
+    }
 
-    public void setName(String name) { this.name = name; }
+    public int getMaxY() {
+        if (!boundsResolved) refreshBounds(getWorld());
+        return effectiveMaxY;
+    }
+
+    /**
+     * Re-clamps the effective Y range to the world's build height (null = world not loaded,
+     * the span stays unclamped). Called on first use and on world load/unload.
+     */
+    public void refreshBounds(World world) {
+        int min = spanMinY;
+        int max = spanMaxY;
+        if (world != null) {
+            min = Math.max(min, world.getMinHeight());
+            // getMaxHeight() is exclusive top; highest blockY is maxHeight - 1
+            max = Math.min(max, world.getMaxHeight() - 1);
+        }
+        if (boundsResolved && (min != effectiveMinY || max != effectiveMaxY)) PermissionEpoch.bump();
+        this.effectiveMinY = min;
+        this.effectiveMaxY = max;
+        this.boundsResolved = true;
+    }
+
+    public void setName(String name) { this.name = name; dirtyFields |= DIRTY_OTHER; }
 
     public UUID getOwnerUuid() { return ownerUuid; }
-    public void setOwnerUuid(UUID ownerUuid) { this.ownerUuid = ownerUuid; }
+    public void setOwnerUuid(UUID ownerUuid) {
+        if (!Objects.equals(this.ownerUuid, ownerUuid)) PermissionEpoch.bump();
+        this.ownerUuid = ownerUuid;
+        dirtyFields |= DIRTY_OWNER;
+    }
 
     public UUID getLienHolderUuid() { return lienHolderUuid; }
-    public void setLienHolderUuid(UUID lienHolderUuid) { this.lienHolderUuid = lienHolderUuid; }
+    public void setLienHolderUuid(UUID lienHolderUuid) { this.lienHolderUuid = lienHolderUuid; dirtyFields |= DIRTY_OTHER; }
 
     public boolean hasLien() { return lienHolderUuid != null; }
 
     public boolean isForSale() { return forSale; }
 
-    public void setForSale(boolean forSale) { this.forSale = forSale; }
+    public void setForSale(boolean forSale) { this.forSale = forSale; dirtyFields |= DIRTY_LISTING; }
 
     public long getSalePrice() { return salePrice; }
 
-    public void setSalePrice(long salePrice) { this.salePrice = Math.max(0L, salePrice); }
+    public void setSalePrice(long salePrice) { this.salePrice = Math.max(0L, salePrice); dirtyFields |= DIRTY_LISTING; }
 
     public String getSaleCurrencyCode() {
         return saleCurrencyCode == null ? "SHEKEL" : saleCurrencyCode.toUpperCase();
@@ -97,16 +160,22 @@ public class Plot {
 
     public void setSaleCurrencyCode(String saleCurrencyCode) {
         this.saleCurrencyCode = saleCurrencyCode == null ? "SHEKEL" : saleCurrencyCode.toUpperCase();
+        dirtyFields |= DIRTY_LISTING;
     }
 
+    public int getDirtyFields() { return dirtyFields; }
+    public boolean isDirty() { return dirtyFields != 0; }
+    public void clearDirty(int fields) { dirtyFields &= ~fields; }
+
     /**
      * True if the location is inside the plot.
      * X/Z uses stored bounds.
      * Y is expanded to at least 64 blocks tall (actually 65 with +/-32).
      */
     public boolean contains(Location loc) {
-        if (loc == null || loc.getWorld() == null) return false;
-        if (!loc.getWorld().getUID().equals(worldId)) return false;
+        if (loc == null) return false;
+        World world = loc.getWorld();
+        if (world == null || !world.getUID().equals(worldId)) return false;
 
         int x = loc.getBlockX();
         int y = loc.getBlockY();
@@ -115,55 +184,10 @@ public class Plot {
         if (x < minX || x > maxX) return false;
         if (z < minZ || z > maxZ) return false;
 
-        int eMinY = effectiveMinY();
-        int eMaxY = effectiveMaxY();
-
-        return y >= eMinY && y <= eMaxY;
-    }
-
-    /**
-     * Expands legacy 1-block-tall plots into a vertical column
-     * centered around the stored Y range midpoint.
-     */
-    private int effectiveMinY() {
-        int rawMin = Math.min(minY, maxY);
-        int rawMax = Math.max(minY, maxY);
-
-        int rawHeight = (rawMax - rawMin) + 1;
-        int min = rawMin;
-
-        if (rawHeight < 64) {
-            int mid = (rawMin + rawMax) / 2;
-            min = mid - VERTICAL_HALF_SPAN;
-        }
-
-        World w = getWorld();
-        if (w != null) {
-            min = Math.max(min, w.getMinHeight());
-        }
-
-        return min;
-    }
-
-    private int effectiveMaxY() {
-        int rawMin = Math.min(minY, maxY);
-        int rawMax = Math.max(minY, maxY);
-
-        int rawHeight = (rawMax - rawMin) + 1;
-        int max = rawMax;
-
-        if (rawHeight < 64) {
-            int mid = (rawMin + rawMax) / 2;
-            max = mid + VERTICAL_HALF_SPAN;
-        }
-
-        World w = getWorld();
-        if (w != null) {
-            // getMaxHeight() is exclusive top; highest blockY is maxHeight - 1
-            max = Math.min(max, w.getMaxHeight() - 1);
-        }
+        // the location's world is this plot's world, so it can resolve the bounds directly
+        if (!boundsResolved) refreshBounds(world);
 
-        return max;
+        return y >= effectiveMinY && y <= effectiveMaxY;
     }
 
     public World getWorld() {
@@ -0,0 +1,49 @@
+package com.brandon.burgsbanners.burg.plot;
+
+import java.util.UUID;
+
+/**
+ * What is known about a burg's plots before they are built: how many there are, how many are
+ * listed for sale, and the X/Z box around all of them (for protection checks).
+ * worldId is null when the plots span more than one world; the box is then not used.
+ */
+public record PlotSummary(int plotCount, int listedCount, UUID worldId,
+                          int minX, int minZ, int maxX, int maxZ) {
+
+    public static final PlotSummary EMPTY = new PlotSummary(0, 0, null, 0, 0, 0, 0);
+
+    /** False only when no plot of this burg can contain the block. */
+    public boolean mayContain(UUID world, int x, int z) {
+        if (plotCount == 0) return false;
+        if (worldId == null) return true;
+        return worldId.equals(world) && x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+    }
+
+    /** Accumulates a summary while storage scans raw plot records. */
+    public static final class Builder {
+        private int count, listed;
+        private UUID world;
+        private boolean mixedWorlds;
+        private int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        private int maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+
+        public Builder add(UUID world, int x1, int z1, int x2, int z2, boolean forSale) {
+            count++;
+            if (forSale) listed++;
+
+            if (this.world == null) this.world = world;
+            else if (!this.world.equals(world)) mixedWorlds = true;
+
+            minX = Math.min(minX, Math.min(x1, x2));
+            minZ = Math.min(minZ, Math.min(z1, z2));
+            maxX = Math.max(maxX, Math.max(x1, x2));
+            maxZ = Math.max(maxZ, Math.max(z1, z2));
+            return this;
+        }
+
+        public PlotSummary build() {
+            if (count == 0) return EMPTY;
+            return new PlotSummary(count, listed, mixedWorlds ? null : world, minX, minZ, maxX, maxZ);
+        }
+    }
+}
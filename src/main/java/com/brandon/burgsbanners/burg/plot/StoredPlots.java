@@ -0,0 +1,18 @@
+package com.brandon.burgsbanners.burg.plot;
+
+import java.util.List;
+
+/**
+ * A burg's plots as storage loaded them, before any Plot is built.
+ *
+ * Each backend keeps its own stored form (a binary plot block, a YAML section, sqlite rows), so
+ * saving a burg whose plots were never built can write that form back unchanged.
+ */
+public interface StoredPlots {
+
+    /** Counts and bounds, computed without building any plot. */
+    PlotSummary summary();
+
+    /** Builds every well-formed plot. Called once, on first access to the burg's plots. */
+    List<Plot> build();
+}
@@ -0,0 +1,330 @@
+package com.brandon.burgsbanners.burg.storage;
+
+import com.brandon.burgsbanners.burg.Burg;
+import com.brandon.burgsbanners.burg.ChunkClaim;
+import com.brandon.burgsbanners.burg.PolityStage;
+import com.brandon.burgsbanners.burg.plot.Plot;
+import com.brandon.burgsbanners.burg.plot.PlotSummary;
+import com.brandon.burgsbanners.burg.plot.StoredPlots;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Compact binary shard format for a burg, its claims and its plots.
+ *
+ * Layout (big-endian, DataOutput):
+ *   int magic 'BURG', short version, long journalSeq, then the burg body.
+ * UUIDs are two longs. Claims are grouped by world and stored as one long each
+ * (chunkX in the high half, chunkZ in the low half). Everything the YAML shard holds is
+ * carried here too, so a burg converts between the two formats without loss.
+ */
+public final class BurgBinaryCodec {
+
+    public static final int MAGIC = 0x42555247; // "BURG"
+    public static final short VERSION = 1;
+
+    private static final int FLAG_LEADER = 1;
+    private static final int FLAG_TREASURY = 1 << 1;
+    private static final int FLAG_HOME = 1 << 2;
+
+    private static final int PLOT_FLAG_OWNER = 1;
+    private static final int PLOT_FLAG_LIEN = 1 << 1;
+
+    /** A decoded shard: the burg plus the last journal sequence number it contains. */
+    public record Decoded(Burg burg, long journalSeq) {}
+
+    /** A plot block kept as read; {@link #encode} copies it back verbatim while no plot is built. */
+    public record EncodedPlots(byte[] block, PlotSummary summary) implements StoredPlots {
+        @Override
+        public List<Plot> build() {
+            return readPlots(block);
+        }
+    }
+
+    private BurgBinaryCodec() {}
+
+    // ===== Burg =====
+
+    public static byte[] encode(Burg b, long journalSeq) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + b.getPlotCount() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(journalSeq);
+
+        out.writeUTF(b.getId());
+        writeNullableUTF(out, b.getName());
+        out.writeUTF(b.getPolityStage().name());
+
+        int flags = 0;
+        if (b.getLeaderUuid() != null) flags |= FLAG_LEADER;
+        if (b.getTreasuryUuid() != null) flags |= FLAG_TREASURY;
+        if (b.getWorldId() != null) flags |= FLAG_HOME;
+        out.writeByte(flags);
+
+        if (b.getLeaderUuid() != null) writeUuid(out, b.getLeaderUuid());
+        writeNullableUTF(out, b.getRulerTitle());
+        out.writeUTF(b.getAdoptedCurrencyCode());
+        if (b.getTreasuryUuid() != null) writeUuid(out, b.getTreasuryUuid());
+
+        out.writeDouble(b.getSalesTaxRate());
+        out.writeDouble(b.getMoneychangerFeeRate());
+
+        if (b.getWorldId() != null) {
+            writeUuid(out, b.getWorldId());
+            out.writeInt(b.getHomeX());
+            out.writeInt(b.getHomeY());
+            out.writeInt(b.getHomeZ());
+        }
+
+        out.writeInt(b.getMembers().size());
+        for (UUID u : b.getMembers()) writeUuid(out, u);
+
+        writeClaims(out, b.getClaims());
+
+        out.writeInt(b.getTreasuryBalances().size());
+        for (Map.Entry<String, Long> e : b.getTreasuryBalances().entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeLong(e.getValue());
+        }
+
+        out.writeDouble(b.getBaseFoodCapacity());
+        out.writeDouble(b.getLastFoodPoints());
+        out.writeLong(b.getLastScanEpochSeconds());
+
+        // plots never built since loading are still the block they were read from
+        if (b.getStoredPlots() instanceof EncodedPlots stored) out.write(stored.block());
+        else writePlots(out, b.getPlots().values());
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    public static Decoded decode(byte[] data) throws IOException {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(data);
+        DataInputStream in = new DataInputStream(bytes);
+
+        if (in.readInt() != MAGIC) throw new IOException("not a burg shard (bad magic)");
+        short version = in.readShort();
+        if (version != VERSION) throw new IOException("unsupported burg shard version " + version);
+        long journalSeq = in.readLong();
+
+        Burg b = new Burg(in.readUTF());
+        b.setName(readNullableUTF(in));
+
+        try {
+            b.setPolityStage(PolityStage.valueOf(in.readUTF()));
+        } catch (IllegalArgumentException ignored) {
+            b.setPolityStage(PolityStage.BURG);
+        }
+
+        int flags = in.readUnsignedByte();
+        if ((flags & FLAG_LEADER) != 0) b.setLeaderUuid(readUuid(in));
+        b.setRulerTitle(readNullableUTF(in));
+        b.setAdoptedCurrencyCode(in.readUTF());
+        if ((flags & FLAG_TREASURY) != 0) b.setTreasuryUuid(readUuid(in));
+
+        b.setSalesTaxRate(in.readDouble());
+        b.setMoneychangerFeeRate(in.readDouble());
+
+        if ((flags & FLAG_HOME) != 0) {
+            UUID world = readUuid(in);
+            b.setHome(world, in.readInt(), in.readInt(), in.readInt());
+        }
+
+        int members = in.readInt();
+        for (int i = 0; i < members; i++) b.addMember(readUuid(in));
+
+        for (ChunkClaim cc : readClaims(in)) b.addClaim(cc);
+
+        int balances = in.readInt();
+        for (int i = 0; i < balances; i++) {
+            String code = in.readUTF();
+            b.setTreasuryBalance(code, in.readLong());
+        }
+
+        b.setBaseFoodCapacity(in.readDouble());
+        b.setLastFoodPoints(in.readDouble());
+        b.setLastScanEpochSeconds(in.readLong());
+
+        // the plot block runs to the end of the shard: keep its bytes, build the plots on first access
+        byte[] plotBlock = Arrays.copyOfRange(data, data.length - bytes.available(), data.length);
+        b.setLazyPlots(new EncodedPlots(plotBlock, summarizePlots(plotBlock)));
+
+        return new Decoded(b, journalSeq);
+    }
+
+    // ===== ChunkClaim =====
+
+    public static long packClaim(int chunkX, int chunkZ) {
+        return ChunkClaim.pack(chunkX, chunkZ);
+    }
+
+    public static int unpackClaimX(long packed) { return (int) (packed >> 32); }
+    public static int unpackClaimZ(long packed) { return (int) packed; }
+
+    /** Claims grouped per world so each world UUID is written once. */
+    public static void writeClaims(DataOutput out, Collection<ChunkClaim> claims) throws IOException {
+        Map<UUID, List<ChunkClaim>> byWorld = new LinkedHashMap<>();
+        for (ChunkClaim cc : claims) {
+            byWorld.computeIfAbsent(cc.getWorldId(), k -> new ArrayList<>()).add(cc);
+        }
+
+        out.writeInt(byWorld.size());
+        for (Map.Entry<UUID, List<ChunkClaim>> e : byWorld.entrySet()) {
+            writeUuid(out, e.getKey());
+            out.writeInt(e.getValue().size());
+            for (ChunkClaim cc : e.getValue()) {
+                out.writeLong(cc.getPacked());
+            }
+        }
+    }
+
+    public static List<ChunkClaim> readClaims(DataInput in) throws IOException {
+        List<ChunkClaim> out = new ArrayList<>();
+        int worlds = in.readInt();
+        for (int w = 0; w < worlds; w++) {
+            UUID world = readUuid(in);
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long packed = in.readLong();
+                out.add(ChunkClaim.of(world, unpackClaimX(packed), unpackClaimZ(packed)));
+            }
+        }
+        return out;
+    }
+
+    // ===== Plot =====
+
+    /** A standalone plot block: the same bytes {@link #encode} ends a shard with. */
+    public static byte[] encodePlots(Collection<Plot> plots) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + plots.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writePlots(out, plots);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writePlots(DataOutput out, Collection<Plot> plots) throws IOException {
+        out.writeInt(plots.size());
+        for (Plot p : plots) writePlot(out, p);
+    }
+
+    public static void writePlot(DataOutput out, Plot p) throws IOException {
+        out.writeUTF(p.getId());
+        writeUuid(out, p.getPlotUuid());
+        writeNullableUTF(out, p.getName());
+        writeUuid(out, p.getWorldId());
+
+        // stored (unclamped) bounds, same as the YAML shard: no world lookup while encoding
+        out.writeInt(p.getMinX()); out.writeInt(p.getStoredMinY()); out.writeInt(p.getMinZ());
+        out.writeInt(p.getMaxX()); out.writeInt(p.getStoredMaxY()); out.writeInt(p.getMaxZ());
+
+        out.writeBoolean(p.isForSale());
+        out.writeLong(p.getSalePrice());
+        out.writeUTF(p.getSaleCurrencyCode());
+
+        int flags = 0;
+        if (p.getOwnerUuid() != null) flags |= PLOT_FLAG_OWNER;
+        if (p.getLienHolderUuid() != null) flags |= PLOT_FLAG_LIEN;
+        out.writeByte(flags);
+        if (p.getOwnerUuid() != null) writeUuid(out, p.getOwnerUuid());
+        if (p.getLienHolderUuid() != null) writeUuid(out, p.getLienHolderUuid());
+    }
+
+    public static Plot readPlot(DataInput in) throws IOException {
+        String id = in.readUTF();
+        UUID plotUuid = readUuid(in);
+        String name = readNullableUTF(in);
+        UUID world = readUuid(in);
+
+        Plot p = new Plot(
+                plotUuid, id, name, world,
+                in.readInt(), in.readInt(), in.readInt(),
+                in.readInt(), in.readInt(), in.readInt()
+        );
+
+        p.setForSale(in.readBoolean());
+        p.setSalePrice(in.readLong());
+        p.setSaleCurrencyCode(in.readUTF());
+
+        int flags = in.readUnsignedByte();
+        if ((flags & PLOT_FLAG_OWNER) != 0) p.setOwnerUuid(readUuid(in));
+        if ((flags & PLOT_FLAG_LIEN) != 0) p.setLienHolderUuid(readUuid(in));
+        return p;
+    }
+
+    /** Scans a plot block for counts and bounds without building any Plot or UUID. */
+    public static PlotSummary summarizePlots(byte[] block) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(block));
+        PlotSummary.Builder summary = new PlotSummary.Builder();
+
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            skipUTF(in);                        // id
+            skipFully(in, 16);                  // plot uuid
+            if (in.readBoolean()) skipUTF(in);  // name
+            UUID world = readUuid(in);
+
+            int minX = in.readInt(); skipFully(in, 4); int minZ = in.readInt();
+            int maxX = in.readInt(); skipFully(in, 4); int maxZ = in.readInt();
+
+            boolean forSale = in.readBoolean();
+            skipFully(in, 8);                   // price
+            skipUTF(in);                        // currency
+
+            int flags = in.readUnsignedByte();
+            if ((flags & PLOT_FLAG_OWNER) != 0) skipFully(in, 16);
+            if ((flags & PLOT_FLAG_LIEN) != 0) skipFully(in, 16);
+
+            summary.add(world, minX, minZ, maxX, maxZ, forSale);
+        }
+
+        return summary.build();
+    }
+
+    /** Builds every plot of a block written by {@link #encode}. */
+    public static List<Plot> readPlots(byte[] block) {
+        List<Plot> out = new ArrayList<>();
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(block));
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) out.add(readPlot(in));
+        } catch (IOException e) {
+            // the block was fully scanned when the shard loaded, so this means memory corruption
+            throw new UncheckedIOException("Damaged plot block", e);
+        }
+        return out;
+    }
+
+    // ===== Primitives =====
+
+    public static void writeUuid(DataOutput out, UUID u) throws IOException {
+        out.writeLong(u.getMostSignificantBits());
+        out.writeLong(u.getLeastSignificantBits());
+    }
+
+    public static UUID readUuid(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullableUTF(DataOutput out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) out.writeUTF(s);
+    }
+
+    private static void skipUTF(DataInput in) throws IOException {
+        skipFully(in, in.readUnsignedShort());
+    }
+
+    // skipBytes stops quietly at end of input; a truncated block must fail the scan instead
+    private static void skipFully(DataInput in, int n) throws IOException {
+        if (in.skipBytes(n) != n) throw new EOFException("plot block ends mid-record");
+    }
+
+    private static String readNullableUTF(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
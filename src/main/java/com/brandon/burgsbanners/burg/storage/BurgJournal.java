@@ -0,0 +1,119 @@
+package com.brandon.burgsbanners.burg.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Append-only log of {@link BurgMutation}s that have not yet been folded into the burg shards.
+ *
+ * Sequence numbers are handed out on the main thread and never reused, even across truncation,
+ * because each shard remembers the last sequence number it already contains.
+ * File I/O (append/truncate) happens on the burg writer thread.
+ */
+public class BurgJournal {
+
+    private final File file;
+    private final Logger logger;
+
+    // main thread
+    private long lastSeq = 0L;
+
+    // writer thread
+    private BufferedWriter out;
+
+    public BurgJournal(File file, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+    }
+
+    public long nextSeq() { return ++lastSeq; }
+    public long lastSeq() { return lastSeq; }
+
+    /** Startup: never hand out a sequence number at or below one already on disk. */
+    public void advanceTo(long seq) {
+        if (seq > lastSeq) lastSeq = seq;
+    }
+
+    public boolean exists() {
+        return file.exists() && file.length() > 0;
+    }
+
+    /** Startup: reads every intact entry in append order. Damaged lines are skipped. */
+    public List<BurgMutation.Entry> readAll() {
+        List<BurgMutation.Entry> out = new ArrayList<>();
+        if (!file.exists()) return out;
+
+        int skipped = 0;
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                BurgMutation.Entry e = BurgMutation.decode(line);
+                if (e == null) {
+                    if (!line.isBlank()) skipped++;
+                    continue;
+                }
+                out.add(e);
+            }
+        } catch (IOException e) {
+            logger.severe("Failed to read " + file.getName() + ": " + e.getMessage());
+        }
+
+        if (skipped > 0) {
+            logger.warning("Skipped " + skipped + " damaged line(s) in " + file.getName() + ".");
+        }
+        return out;
+    }
+
+    /** Writer thread: appends pre-encoded lines and flushes them. */
+    public boolean append(List<String> lines) {
+        try {
+            if (out == null) {
+                File parent = file.getParentFile();
+                if (parent != null && !parent.exists()) {
+                    //noinspection ResultOfMethodCallIgnored
+                    parent.mkdirs();
+                }
+                out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (String line : lines) {
+                out.write(line);
+                out.newLine();
+            }
+            out.flush();
+            return true;
+        } catch (IOException e) {
+            logger.severe("Failed to append to " + file.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /** Writer thread: drops everything, once the shards have caught up with it. */
+    public void truncate() {
+        close();
+        try {
+            Files.write(file.toPath(), new byte[0]);
+        } catch (IOException e) {
+            logger.severe("Failed to truncate " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /** Writer thread (or after the writer has stopped). */
+    public void close() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException e) {
+            logger.warning("Failed to close " + file.getName() + ": " + e.getMessage());
+        }
+        out = null;
+    }
+}
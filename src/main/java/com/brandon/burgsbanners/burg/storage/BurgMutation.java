@@ -0,0 +1,248 @@
+package com.brandon.burgsbanners.burg.storage;
+
+import com.brandon.burgsbanners.burg.Burg;
+import com.brandon.burgsbanners.burg.ChunkClaim;
+import com.brandon.burgsbanners.burg.plot.Plot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One small typed change to a burg, as written to the burg journal.
+ *
+ * Line format (tab separated): seq, type, burgId, then type-specific arguments.
+ * Every mutation carries the resulting value rather than a delta, so replaying it twice is harmless.
+ */
+public final class BurgMutation {
+
+    public enum Type {
+        CLAIM_ADDED,
+        CLAIM_REMOVED,
+        MEMBER_JOINED,
+        MEMBER_LEFT,
+        LEADER_CHANGED,
+        TAX_CHANGED,
+        PLOT_OWNER_CHANGED,
+        PLOT_LISTING_CHANGED,
+        TREASURY_CHANGED,
+        FOOD_CHANGED
+    }
+
+    /** Burg sections that save() can express as journal records instead of a shard rewrite. */
+    private static final int JOURNALED_SECTIONS =
+            Burg.DIRTY_LEADER | Burg.DIRTY_TAX | Burg.DIRTY_TREASURY | Burg.DIRTY_FOOD;
+    private static final int JOURNALED_PLOT_FIELDS = Plot.DIRTY_OWNER | Plot.DIRTY_LISTING;
+
+    /** A decoded journal line. */
+    public record Entry(long seq, BurgMutation mutation) {}
+
+    private static final String SEP = "\t";
+    private static final String NONE = "-";
+
+    private final Type type;
+    private final String burgId;
+    private final String[] args;
+
+    private BurgMutation(Type type, String burgId, String... args) {
+        this.type = type;
+        this.burgId = burgId;
+        this.args = args;
+    }
+
+    public Type getType() { return type; }
+    public String getBurgId() { return burgId; }
+
+    /** Raw argument for in-place backends; null where the journal writes "-". */
+    String arg(int i) {
+        return NONE.equals(args[i]) ? null : args[i];
+    }
+
+    // ---- Factories (capture the value after the change) ----
+
+    public static BurgMutation claimAdded(Burg burg, ChunkClaim claim) {
+        return new BurgMutation(Type.CLAIM_ADDED, burg.getId(), claim.toKey());
+    }
+
+    public static BurgMutation claimRemoved(Burg burg, ChunkClaim claim) {
+        return new BurgMutation(Type.CLAIM_REMOVED, burg.getId(), claim.toKey());
+    }
+
+    public static BurgMutation memberJoined(Burg burg, UUID member) {
+        return new BurgMutation(Type.MEMBER_JOINED, burg.getId(), member.toString());
+    }
+
+    public static BurgMutation memberLeft(Burg burg, UUID member) {
+        return new BurgMutation(Type.MEMBER_LEFT, burg.getId(), member.toString());
+    }
+
+    public static BurgMutation leaderChanged(Burg burg) {
+        return new BurgMutation(Type.LEADER_CHANGED, burg.getId(), uuidArg(burg.getLeaderUuid()));
+    }
+
+    public static BurgMutation taxChanged(Burg burg) {
+        return new BurgMutation(Type.TAX_CHANGED, burg.getId(),
+                Double.toString(burg.getSalesTaxRate()),
+                Double.toString(burg.getMoneychangerFeeRate()));
+    }
+
+    public static BurgMutation plotOwnerChanged(Burg burg, Plot plot) {
+        return new BurgMutation(Type.PLOT_OWNER_CHANGED, burg.getId(), plot.getId(), uuidArg(plot.getOwnerUuid()));
+    }
+
+    public static BurgMutation plotListingChanged(Burg burg, Plot plot) {
+        return new BurgMutation(Type.PLOT_LISTING_CHANGED, burg.getId(), plot.getId(),
+                Boolean.toString(plot.isForSale()),
+                Long.toString(plot.getSalePrice()),
+                plot.getSaleCurrencyCode());
+    }
+
+    public static BurgMutation treasuryChanged(Burg burg, String code) {
+        return new BurgMutation(Type.TREASURY_CHANGED, burg.getId(), code, Long.toString(burg.getTreasuryBalance(code)));
+    }
+
+    public static BurgMutation foodChanged(Burg burg) {
+        return new BurgMutation(Type.FOOD_CHANGED, burg.getId(),
+                Double.toString(burg.getBaseFoodCapacity()),
+                Double.toString(burg.getLastFoodPoints()),
+                Long.toString(burg.getLastScanEpochSeconds()));
+    }
+
+    // ---- Dirty sections ----
+
+    /**
+     * Records covering everything dirty on the burg, or null when a dirty section
+     * (core fields, member/claim sets, plot layout, plot name/lien) needs a full shard write.
+     * An empty list means there is nothing to persist.
+     */
+    public static List<BurgMutation> forDirtySections(Burg burg) {
+        int sections = burg.getDirtySections();
+        if ((sections & ~JOURNALED_SECTIONS) != 0) return null;
+
+        List<String> dirtyPlots = burg.getDirtyPlotIds();
+        for (String pid : dirtyPlots) {
+            if ((burg.getPlot(pid).getDirtyFields() & ~JOURNALED_PLOT_FIELDS) != 0) return null;
+        }
+
+        List<BurgMutation> out = new ArrayList<>();
+        if ((sections & Burg.DIRTY_LEADER) != 0) out.add(leaderChanged(burg));
+        if ((sections & Burg.DIRTY_TAX) != 0) out.add(taxChanged(burg));
+        if ((sections & Burg.DIRTY_FOOD) != 0) out.add(foodChanged(burg));
+        if ((sections & Burg.DIRTY_TREASURY) != 0) {
+            for (String code : burg.getTreasuryBalances().keySet()) out.add(treasuryChanged(burg, code));
+        }
+
+        for (String pid : dirtyPlots) {
+            Plot plot = burg.getPlot(pid);
+            if ((plot.getDirtyFields() & Plot.DIRTY_OWNER) != 0) out.add(plotOwnerChanged(burg, plot));
+            if ((plot.getDirtyFields() & Plot.DIRTY_LISTING) != 0) out.add(plotListingChanged(burg, plot));
+        }
+        return out;
+    }
+
+    /**
+     * Clears the dirty bits this record fully covers once it is journaled.
+     * Claim, member and per-currency treasury records cover one element only, so those
+     * sections stay dirty until the next full snapshot or dirty-section save.
+     */
+    public void markPersisted(Burg burg) {
+        switch (type) {
+            case LEADER_CHANGED -> burg.clearDirty(Burg.DIRTY_LEADER);
+            case TAX_CHANGED -> burg.clearDirty(Burg.DIRTY_TAX);
+            case FOOD_CHANGED -> burg.clearDirty(Burg.DIRTY_FOOD);
+            case PLOT_OWNER_CHANGED, PLOT_LISTING_CHANGED -> {
+                Plot plot = burg.getPlot(args[0]);
+                if (plot != null) {
+                    plot.clearDirty(type == Type.PLOT_OWNER_CHANGED ? Plot.DIRTY_OWNER : Plot.DIRTY_LISTING);
+                }
+            }
+            default -> { }
+        }
+    }
+
+    // ---- Replay ----
+
+    /** Re-applies this change to a freshly loaded burg. */
+    public void apply(Burg burg) {
+        switch (type) {
+            case CLAIM_ADDED -> {
+                ChunkClaim claim = ChunkClaim.fromKey(args[0]);
+                if (claim != null) burg.addClaim(claim);
+            }
+            case CLAIM_REMOVED -> {
+                ChunkClaim claim = ChunkClaim.fromKey(args[0]);
+                if (claim != null) burg.removeClaim(claim);
+            }
+            case MEMBER_JOINED -> burg.addMember(UUID.fromString(args[0]));
+            case MEMBER_LEFT -> burg.removeMember(UUID.fromString(args[0]));
+            case LEADER_CHANGED -> burg.setLeaderUuid(parseUuid(args[0]));
+            case TAX_CHANGED -> {
+                burg.setSalesTaxRate(Double.parseDouble(args[0]));
+                burg.setMoneychangerFeeRate(Double.parseDouble(args[1]));
+            }
+            case PLOT_OWNER_CHANGED -> {
+                Plot plot = burg.getPlot(args[0]);
+                if (plot != null) plot.setOwnerUuid(parseUuid(args[1]));
+            }
+            case PLOT_LISTING_CHANGED -> {
+                Plot plot = burg.getPlot(args[0]);
+                if (plot != null) {
+                    plot.setForSale(Boolean.parseBoolean(args[1]));
+                    plot.setSalePrice(Long.parseLong(args[2]));
+                    plot.setSaleCurrencyCode(args[3]);
+                }
+            }
+            case TREASURY_CHANGED -> burg.setTreasuryBalance(args[0], Long.parseLong(args[1]));
+            case FOOD_CHANGED -> {
+                burg.setBaseFoodCapacity(Double.parseDouble(args[0]));
+                burg.setLastFoodPoints(Double.parseDouble(args[1]));
+                burg.setLastScanEpochSeconds(Long.parseLong(args[2]));
+            }
+        }
+    }
+
+    // ---- Line codec ----
+
+    public String encode(long seq) {
+        StringBuilder sb = new StringBuilder(64)
+                .append(seq).append(SEP)
+                .append(type.name()).append(SEP)
+                .append(burgId);
+        for (String a : args) sb.append(SEP).append(a);
+        return sb.toString();
+    }
+
+    /** @return the decoded entry, or null if the line is damaged (e.g. torn final write). */
+    public static Entry decode(String line) {
+        if (line == null || line.isBlank()) return null;
+        String[] parts = line.split(SEP, -1);
+        if (parts.length < 3) return null;
+        try {
+            long seq = Long.parseLong(parts[0]);
+            Type type = Type.valueOf(parts[1]);
+            String[] args = Arrays.copyOfRange(parts, 3, parts.length);
+            if (args.length < arity(type)) return null;
+            return new Entry(seq, new BurgMutation(type, parts[2], args));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static int arity(Type type) {
+        return switch (type) {
+            case CLAIM_ADDED, CLAIM_REMOVED, MEMBER_JOINED, MEMBER_LEFT, LEADER_CHANGED -> 1;
+            case TAX_CHANGED, PLOT_OWNER_CHANGED, TREASURY_CHANGED -> 2;
+            case FOOD_CHANGED -> 3;
+            case PLOT_LISTING_CHANGED -> 4;
+        };
+    }
+
+    private static String uuidArg(UUID uuid) {
+        return uuid == null ? NONE : uuid.toString();
+    }
+
+    private static UUID parseUuid(String s) {
+        return NONE.equals(s) ? null : UUID.fromString(s);
+    }
+}
@@ -0,0 +1,50 @@
+package com.brandon.burgsbanners.burg.storage;
+
+import com.brandon.burgsbanners.burg.Burg;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where burgs are persisted. Selected by storage.backend in config.yml:
+ * {@link BurgStorage} (files: one shard per burg plus a mutation journal) or
+ * {@link SqliteBurgRepository} (sqlite: one embedded database with row-level updates).
+ *
+ * Threading: loadAll and the capture methods run on the main thread. The {@link Write}s they
+ * return are detached from the live burg and run on the burg writer thread, in order.
+ */
+public interface BurgRepository {
+
+    /** A captured change, ready to be persisted from any thread. */
+    @FunctionalInterface
+    interface Write {
+        /** @return false if the change could not be persisted */
+        boolean run();
+    }
+
+    Map<String, Burg> loadAll();
+
+    /** Main thread: capture the burg's full state. */
+    Write snapshot(Burg burg);
+
+    /** Main thread: capture mutations that are already applied in memory. */
+    Write mutations(List<BurgMutation> batch);
+
+    /**
+     * True when mutations go to a log that must be folded back into full snapshots
+     * (see {@link #compactLog()}); false when the backend applies them in place.
+     */
+    boolean isJournaled();
+
+    /** Main thread: size of the mutation log written since the last compaction, in bytes. */
+    long logBytes();
+
+    /**
+     * Main thread: resets the log size. The returned write empties the log and must only run
+     * once snapshots of every journaled burg have been written.
+     */
+    Write compactLog();
+
+    /** Writer thread, on shutdown. */
+    void close();
+}
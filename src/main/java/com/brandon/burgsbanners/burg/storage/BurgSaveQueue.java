@@ -0,0 +1,239 @@
+package com.brandon.burgsbanners.burg.storage;
+
+import com.brandon.burgsbanners.burg.Burg;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * Write-behind persistence for burgs.
+ *
+ * save() only marks a burg dirty. Once per window the dirty burgs are snapshotted on the
+ * main thread and handed to a single background writer, so repeated saves of the same burg
+ * inside a window collapse into one shard write and the server thread never touches the disk.
+ *
+ * At flush, a dirty burg whose changes are all journal-expressible (leader, taxes, treasury,
+ * food stats, plot owners and listings; see {@link Burg#getDirtySections()}) is journaled
+ * instead of snapshotted, so only the changed sections are serialized.
+ *
+ * record() is cheaper still: the mutation is handed to the repository as-is. The file backend
+ * appends it to the burg journal and leaves the shard alone until compaction, which runs on a
+ * timer or once the journal grows past a size limit; the sqlite backend updates the rows in place.
+ *
+ * A shard write that fails hands its burg back to the main thread: it is marked dirty again
+ * and stays on the compaction list, so the journal keeps its entries until a later snapshot
+ * of that burg succeeds.
+ *
+ * Burg state is read under the burg's lock (see BurgManager#lockFor), so in the "striped"
+ * concurrency mode a snapshot never sees a half-applied off-thread change.
+ */
+public class BurgSaveQueue {
+
+    private final JavaPlugin plugin;
+    private final BurgRepository repository;
+    private final Function<Burg, Lock> lockFor;
+
+    // main thread only
+    private final Map<String, Burg> dirty = new LinkedHashMap<>();
+    private final List<BurgMutation> pendingRecords = new ArrayList<>();
+    private final Map<String, Journaled> journaledSinceCompaction = new LinkedHashMap<>();
+    private long journalStamp;
+    private long lastCompactionMillis = System.currentTimeMillis();
+
+    // single thread keeps writes to the same shard (and the journal) in order
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+            r -> new Thread(r, "BurgsAndBanners-BurgWriter"));
+
+    private BukkitTask flushTask;
+
+    /** A burg with journal entries not yet folded into its shard; the stamp changes on every new entry. */
+    private record Journaled(Burg burg, long stamp) {}
+
+    public BurgSaveQueue(JavaPlugin plugin, BurgRepository repository, Function<Burg, Lock> lockFor) {
+        this.plugin = plugin;
+        this.repository = repository;
+        this.lockFor = lockFor;
+    }
+
+    public void start() {
+        long windowTicks = Math.max(1L, plugin.getConfig().getLong("storage.writeBehindTicks", 40L));
+        this.flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, windowTicks, windowTicks);
+    }
+
+    /** Main thread: schedule this burg for the next flush. */
+    public void markDirty(Burg burg) {
+        if (burg == null || burg.getId() == null) return;
+        dirty.put(burg.getId(), burg);
+    }
+
+    /**
+     * Main thread: journal a change that has already been applied to the burg.
+     * With the file backend the burg's shard is only rewritten at the next compaction.
+     */
+    public void record(Burg burg, BurgMutation mutation) {
+        if (burg == null || mutation == null) return;
+
+        pendingRecords.add(mutation);
+        if (repository.isJournaled()) journaledSinceCompaction.put(burg.getId(), new Journaled(burg, ++journalStamp));
+        mutation.markPersisted(burg);
+    }
+
+    public int pendingCount() {
+        return dirty.size() + pendingRecords.size();
+    }
+
+    /** Main thread: queue journal appends and dirty-burg snapshots, compacting when due. */
+    public void flush() {
+        List<Burg> needSnapshot = new ArrayList<>();
+        for (Burg burg : dirty.values()) {
+            Lock lock = lockFor.apply(burg);
+            lock.lock();
+            try {
+                List<BurgMutation> records = BurgMutation.forDirtySections(burg);
+                if (records == null) {
+                    needSnapshot.add(burg);
+                    continue;
+                }
+                for (BurgMutation m : records) record(burg, m);
+                // every balance was just recorded, which covers the whole treasury section
+                burg.clearDirty(Burg.DIRTY_TREASURY);
+            } finally {
+                lock.unlock();
+            }
+        }
+        dirty.clear();
+
+        if (!pendingRecords.isEmpty()) {
+            BurgRepository.Write batch = repository.mutations(pendingRecords);
+            pendingRecords.clear();
+            writer.execute(batch::run);
+        }
+
+        for (Burg burg : needSnapshot) {
+            // a full snapshot contains every journal entry for this burg so far, but the burg only
+            // leaves the compaction list once the write has actually succeeded
+            Journaled covered = journaledSinceCompaction.get(burg.getId());
+            BurgRepository.Write snapshot = capture(burg);
+            writer.execute(() -> runSnapshot(burg, snapshot, covered));
+        }
+
+        if (compactionDue()) compact();
+    }
+
+    /** Main thread: copy the burg's state for the writer, under the burg's lock. */
+    private BurgRepository.Write capture(Burg burg) {
+        Lock lock = lockFor.apply(burg);
+        lock.lock();
+        try {
+            return repository.snapshot(burg);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Writer thread: runs a snapshot and reports the outcome back to the main thread. */
+    private boolean runSnapshot(Burg burg, BurgRepository.Write snapshot, Journaled covered) {
+        boolean ok = snapshot.run();
+        // on disable there is no next flush to retry in; the failure is already logged by the repository
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (ok) snapshotWritten(burg, covered);
+                else snapshotFailed(burg);
+            });
+        }
+        return ok;
+    }
+
+    /** Main thread: drop the burg from the compaction list unless it was journaled again since. */
+    private void snapshotWritten(Burg burg, Journaled covered) {
+        if (covered != null) journaledSinceCompaction.remove(burg.getId(), covered);
+    }
+
+    /** Main thread: capture() cleared the dirty bits, so put them back and retry at the next flush. */
+    private void snapshotFailed(Burg burg) {
+        Lock lock = lockFor.apply(burg);
+        lock.lock();
+        try {
+            burg.markDirty(Burg.DIRTY_ALL);
+        } finally {
+            lock.unlock();
+        }
+        dirty.put(burg.getId(), burg);
+        if (repository.isJournaled()) journaledSinceCompaction.put(burg.getId(), new Journaled(burg, ++journalStamp));
+    }
+
+    private boolean compactionDue() {
+        long logBytes = repository.logBytes();
+        if (logBytes == 0L) return false;
+
+        long maxBytes = plugin.getConfig().getLong("storage.journal.compactBytes", 1_048_576L);
+        long intervalMillis = plugin.getConfig().getLong("storage.journal.compactMinutes", 10L) * 60_000L;
+
+        return logBytes >= maxBytes
+                || System.currentTimeMillis() - lastCompactionMillis >= intervalMillis;
+    }
+
+    /**
+     * Main thread: rewrite the shards of every journaled burg, then empty the journal.
+     * Both are queued behind the journal appends, so nothing newer than these snapshots is dropped.
+     * If any shard fails, the journal is kept and that burg is queued again (see snapshotFailed).
+     */
+    private void compact() {
+        boolean[] folded = {true};
+        for (Journaled entry : journaledSinceCompaction.values()) {
+            Burg burg = entry.burg();
+            BurgRepository.Write snapshot = capture(burg);
+            writer.execute(() -> folded[0] &= runSnapshot(burg, snapshot, null));
+        }
+        journaledSinceCompaction.clear();
+
+        BurgRepository.Write truncate = repository.compactLog();
+        writer.execute(() -> {
+            if (folded[0]) {
+                truncate.run();
+            } else {
+                plugin.getLogger().warning("Kept burgs.journal because some shards could not be written.");
+            }
+        });
+
+        lastCompactionMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Main thread, on disable: flush and compact, then wait a bounded time for the writer.
+     * Writes still queued after the timeout are dropped and reported.
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        flush();
+        if (repository.logBytes() > 0L) compact();
+        writer.execute(repository::close);
+        writer.shutdown();
+
+        long timeoutSeconds = Math.max(1L, plugin.getConfig().getLong("storage.shutdownFlushSeconds", 10L));
+        try {
+            if (!writer.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                List<Runnable> dropped = writer.shutdownNow();
+                plugin.getLogger().severe("Burg writer did not finish within " + timeoutSeconds
+                        + "s; " + dropped.size() + " burg save(s) were not written.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            plugin.getLogger().severe("Interrupted while flushing burg saves: " + e.getMessage());
+        }
+    }
+}
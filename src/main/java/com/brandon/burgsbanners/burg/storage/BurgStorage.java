@@ -4,258 +4,673 @@ import com.brandon.burgsbanners.burg.Burg;
 import com.brandon.burgsbanners.burg.ChunkClaim;
 import com.brandon.burgsbanners.burg.PolityStage;
 import com.brandon.burgsbanners.burg.plot.Plot;
-import org.bukkit.Bukkit;
-import org.bukkit.Location;
-import org.bukkit.World;
+import com.brandon.burgsbanners.burg.plot.PlotSummary;
+import com.brandon.burgsbanners.burg.plot.StoredPlots;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
-
-public class BurgStorage {
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sharded burg persistence: one file per burg under plugins/BurgsAndBanners/burgs/.
+ * Saving a burg only rewrites its own shard. Shards are YAML (burgs/<id>.yml) or, with
+ * storage.format: binary, the compact {@link BurgBinaryCodec} form (burgs/<id>.bin).
+ * Shards in the other format are read and converted on load, so switching is safe both ways.
+ * The legacy single-file burgs.yml is migrated into shards the first time it is seen and then
+ * renamed out of the way.
+ *
+ * Small changes go to burgs.journal instead of a shard rewrite (see {@link BurgJournal}).
+ * Each shard records the last journal sequence number it contains, and loading replays
+ * only the newer journal entries on top of it.
+ *
+ * Loading is split in two: shards are parsed in parallel on a short-lived worker pool (pure
+ * parsing, no Bukkit calls, no shared state), then merged, replayed and converted on the
+ * calling thread. World lookups happen later, in BurgManager's link phase.
+ */
+public class BurgStorage implements BurgRepository {
+
+    private static final String SHARD_DIR = "burgs";
+    private static final String LEGACY_FILE = "burgs.yml";
+    private static final String LEGACY_MIGRATED_SUFFIX = ".migrated";
+    private static final String JOURNAL_FILE = "burgs.journal";
+    private static final String JOURNAL_SEQ_KEY = "journalSeq";
+    // below this many shards a worker pool costs more than it saves
+    private static final int PARALLEL_LOAD_MIN_SHARDS = 32;
 
     private final JavaPlugin plugin;
-    private final File file;
+    private final File shardDir;
+    private final File legacyFile;
+    private final BurgJournal journal;
+    private final ShardFormat format;
+
+    // main thread: journal bytes handed to the writer since the last compaction
+    private long journalBytes = 0L;
+
+    /** On-disk shard encodings. */
+    public enum ShardFormat {
+        YAML(".yml"),
+        BINARY(".bin");
+
+        private final String extension;
+
+        ShardFormat(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        static ShardFormat fromConfig(String raw) {
+            return "binary".equalsIgnoreCase(raw) ? BINARY : YAML;
+        }
+
+        static ShardFormat ofFile(String name) {
+            for (ShardFormat f : values()) {
+                if (name.endsWith(f.extension)) return f;
+            }
+            return null;
+        }
+    }
 
     // ✅ This matches: new BurgStorage(this) in your main plugin
     public BurgStorage(JavaPlugin plugin) {
         this.plugin = plugin;
-        this.file = new File(plugin.getDataFolder(), "burgs.yml");
+        this.shardDir = new File(plugin.getDataFolder(), SHARD_DIR);
+        this.legacyFile = new File(plugin.getDataFolder(), LEGACY_FILE);
+        this.journal = new BurgJournal(new File(plugin.getDataFolder(), JOURNAL_FILE), plugin.getLogger());
+        this.format = ShardFormat.fromConfig(plugin.getConfig().getString("storage.format", "yaml"));
     }
 
-    // ===== Compatibility API (what BurgManager expects) =====
-    public Map<String, Burg> loadAllBurgs() {
-        return loadAll();
+    public ShardFormat getFormat() {
+        return format;
     }
 
-    public void saveBurg(Burg burg) {
-        Map<String, Burg> all = loadAll();
-        all.put(burg.getId(), burg);
-        saveAll(all);
+    public BurgJournal getJournal() {
+        return journal;
     }
 
-    // ===== Main API =====
-    public Map<String, Burg> loadAll() {
-        if (!file.exists()) {
-            return new LinkedHashMap<>();
+    /**
+     * A detached copy of one burg's shard contents.
+     * Built on the main thread; safe to write from any thread afterwards.
+     * Exactly one of yaml/binary is set, matching the format.
+     */
+    public record Snapshot(String burgId, ShardFormat format, YamlConfiguration yaml, byte[] binary) {}
+
+    // ===== BurgRepository =====
+
+    @Override
+    public Write snapshot(Burg burg) {
+        Snapshot snapshot = capture(burg);
+        return () -> write(snapshot);
+    }
+
+    @Override
+    public Write mutations(List<BurgMutation> batch) {
+        List<String> lines = new ArrayList<>(batch.size());
+        for (BurgMutation m : batch) {
+            String line = m.encode(journal.nextSeq());
+            lines.add(line);
+            journalBytes += line.length() + 1;
         }
+        return () -> journal.append(lines);
+    }
 
-        YamlConfiguration yml = YamlConfiguration.loadConfiguration(file);
-        ConfigurationSection root = yml.getConfigurationSection("burgs");
-        if (root == null) return new LinkedHashMap<>();
+    @Override
+    public boolean isJournaled() {
+        return true;
+    }
 
-        Map<String, Burg> out = new LinkedHashMap<>();
+    @Override
+    public long logBytes() {
+        return journalBytes;
+    }
+
+    @Override
+    public Write compactLog() {
+        journalBytes = 0L;
+        return () -> {
+            journal.truncate();
+            return true;
+        };
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    // ===== Shard snapshots =====
 
-        for (String id : root.getKeys(false)) {
-            ConfigurationSection cs = root.getConfigurationSection(id);
-            if (cs == null) continue;
+    /** Main thread: copies the burg's current state into a detached shard image. */
+    public Snapshot capture(Burg burg) {
+        // every journal entry handed out so far is already applied in memory
+        long seq = journal.lastSeq();
+        // the snapshot holds every section, so nothing is left to persist
+        burg.clearAllDirty();
 
+        if (format == ShardFormat.BINARY) {
             try {
-                // ✅ Burg constructor is Burg(String id)
-                Burg b = new Burg(id);
+                // encoding is a single pass over primitives, cheap enough to do right here
+                return new Snapshot(burg.getId(), format, null, BurgBinaryCodec.encode(burg, seq));
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to encode burg " + burg.getId() + ", falling back to YAML: " + e.getMessage());
+            }
+        }
+
+        YamlConfiguration yml = new YamlConfiguration();
+        yml.set("id", burg.getId());
+        yml.set(JOURNAL_SEQ_KEY, seq);
+        writeBurg(yml, burg);
+        return new Snapshot(burg.getId(), ShardFormat.YAML, yml, null);
+    }
 
-                b.setName(cs.getString("name", id));
+    /** Any thread: serializes a snapshot and replaces the burg's shard. */
+    public boolean write(Snapshot snapshot) {
+        ensureShardDir();
+        File target = shardFile(snapshot.burgId(), snapshot.format());
+        try {
+            if (snapshot.format() == ShardFormat.BINARY) {
+                // write-then-rename: a torn binary shard cannot be decoded at all
+                File tmp = new File(target.getParentFile(), target.getName() + ".tmp");
+                Files.write(tmp.toPath(), snapshot.binary());
+                Files.move(tmp.toPath(), target.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                snapshot.yaml().save(target);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to save burg shard " + snapshot.burgId() + ": " + e.getMessage());
+            return false;
+        }
 
-                String stage = cs.getString("stage", "BURG");
+        // a shard left behind in the other format would be stale; drop it once the new one is on disk
+        for (ShardFormat other : ShardFormat.values()) {
+            if (other == snapshot.format()) continue;
+            File stale = shardFile(snapshot.burgId(), other);
+            if (stale.exists() && !stale.delete()) {
+                plugin.getLogger().warning("Could not remove stale shard " + stale.getName());
+            }
+        }
+        return true;
+    }
+
+    // ===== Main API =====
+    @Override
+    public Map<String, Burg> loadAll() {
+        migrateLegacyFile();
+
+        Map<String, Burg> out = new LinkedHashMap<>();
+        Map<String, Long> shardSeq = new HashMap<>();
+        Map<String, ShardFormat> loadedFormat = new HashMap<>();
+
+        File[] shards = shardDir.listFiles((dir, name) -> ShardFormat.ofFile(name) != null);
+        if (shards != null) {
+            Arrays.sort(shards, Comparator.comparing(File::getName));
+            List<BurgBinaryCodec.Decoded> parsed = parseShards(shards);
+
+            for (int i = 0; i < shards.length; i++) {
+                ShardFormat shardFormat = ShardFormat.ofFile(shards[i].getName());
+                BurgBinaryCodec.Decoded d = parsed.get(i);
+                if (d == null) continue;
+
+                String id = d.burg().getId();
+                ShardFormat seen = loadedFormat.get(id);
+                // both formats on disk (interrupted conversion): the configured one wins
+                if (seen != null && seen == format) continue;
+
+                shardSeq.put(id, d.journalSeq());
+                journal.advanceTo(d.journalSeq());
+                loadedFormat.put(id, shardFormat);
+                out.put(id, d.burg());
+            }
+        }
+
+        replayJournal(out, shardSeq);
+        convertShards(out, loadedFormat);
+
+        // freshly loaded state matches disk
+        for (Burg b : out.values()) b.clearAllDirty();
+        return out;
+    }
+
+    /**
+     * Parse phase: reads and decodes every shard, in parallel when there are enough of them.
+     * Results line up with the input order; unreadable shards come back as null.
+     */
+    private List<BurgBinaryCodec.Decoded> parseShards(File[] shards) {
+        int threads = plugin.getConfig().getInt("storage.loadThreads", 0);
+        if (threads <= 0) threads = Runtime.getRuntime().availableProcessors();
+        threads = Math.min(threads, shards.length);
+
+        List<BurgBinaryCodec.Decoded> out = new ArrayList<>(shards.length);
+        if (threads <= 1 || shards.length < PARALLEL_LOAD_MIN_SHARDS) {
+            for (File shard : shards) out.add(readShard(shard, ShardFormat.ofFile(shard.getName())));
+            return out;
+        }
+
+        AtomicInteger n = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads,
+                r -> new Thread(r, "BurgsAndBanners-BurgLoader-" + n.incrementAndGet()));
+        try {
+            List<Future<BurgBinaryCodec.Decoded>> futures = new ArrayList<>(shards.length);
+            for (File shard : shards) {
+                futures.add(pool.submit(() -> readShard(shard, ShardFormat.ofFile(shard.getName()))));
+            }
+
+            for (int i = 0; i < shards.length; i++) {
                 try {
-                    b.setPolityStage(PolityStage.valueOf(stage.toUpperCase(Locale.ROOT)));
-                } catch (Exception ignored) {
-                    b.setPolityStage(PolityStage.BURG);
+                    out.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    plugin.getLogger().severe("Failed to read burg shard " + shards[i].getName() + ": " + e.getCause());
+                    out.add(null);
                 }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // keep the result list aligned with the shard list
+            while (out.size() < shards.length) out.add(null);
+            plugin.getLogger().severe("Interrupted while loading burg shards; some burgs were not loaded.");
+        } finally {
+            pool.shutdownNow();
+        }
+        return out;
+    }
 
-                String leader = cs.getString("leaderUuid", null);
-                if (leader != null && !leader.isBlank()) {
-                    try { b.setLeaderUuid(UUID.fromString(leader)); } catch (Exception ignored) {}
-                }
+    /** Any thread: pure parse of one shard file. */
+    private BurgBinaryCodec.Decoded readShard(File shard, ShardFormat shardFormat) {
+        String fileName = shard.getName();
+        String fallbackId = fileName.substring(0, fileName.length() - shardFormat.getExtension().length());
 
-                b.setRulerTitle(cs.getString("rulerTitle", "Lord-Mayor"));
-                b.setAdoptedCurrencyCode(cs.getString("currency", "SHEKEL"));
+        if (shardFormat == ShardFormat.BINARY) {
+            try {
+                return BurgBinaryCodec.decode(Files.readAllBytes(shard.toPath()));
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to read burg shard " + fileName + ": " + e.getMessage());
+                return null;
+            }
+        }
 
-                String treasuryUuid = cs.getString("treasuryUuid", null);
-                if (treasuryUuid != null && !treasuryUuid.isBlank()) {
-                    try { b.setTreasuryUuid(UUID.fromString(treasuryUuid)); } catch (Exception ignored) {}
-                }
+        YamlConfiguration yml = YamlConfiguration.loadConfiguration(shard);
+        Burg b = readBurg(yml.getString("id", fallbackId), yml);
+        return b == null ? null : new BurgBinaryCodec.Decoded(b, yml.getLong(JOURNAL_SEQ_KEY, 0L));
+    }
 
-                // tax policy
-                b.setSalesTaxRate(cs.getDouble("tax.sales", 0.0));
-                // moneychanger fee
-                double mcFee = cs.contains("tax.mcfee") ? cs.getDouble("tax.mcfee", 0.0) : cs.getDouble("moneychangerFeeRate", 0.0);
-                b.setMoneychangerFeeRate(mcFee);
-
-                // home
-                String homeWorld = cs.getString("home.world", null);
-                if (homeWorld != null && !homeWorld.isBlank()) {
-                    try {
-                        UUID worldId = UUID.fromString(homeWorld);
-                        b.setWorldId(worldId);
-
-                        World w = Bukkit.getWorld(worldId);
-                        if (w != null) {
-                            Location home = new Location(
-                                    w,
-                                    cs.getInt("home.x"),
-                                    cs.getInt("home.y"),
-                                    cs.getInt("home.z")
-                            );
-                            b.setHome(home);
-                        }
-
-                    } catch (Exception ignored) {}
-                }
+    /** Rewrites shards that were loaded in the non-configured format (storage.format was switched). */
+    private void convertShards(Map<String, Burg> burgs, Map<String, ShardFormat> loadedFormat) {
+        int converted = 0;
+        for (Map.Entry<String, ShardFormat> e : loadedFormat.entrySet()) {
+            if (e.getValue() == format) continue;
+            if (write(capture(burgs.get(e.getKey())))) converted++;
+        }
 
-                // members
-                for (String m : cs.getStringList("members")) {
-                    try { b.getMembers().add(UUID.fromString(m)); } catch (Exception ignored) {}
-                }
+        if (converted > 0) {
+            plugin.getLogger().info("Converted " + converted + " burg shard(s) to " + format.name().toLowerCase(Locale.ROOT) + ".");
+        }
+    }
 
-                // claims
-                for (String s : cs.getStringList("claims")) {
-                    ChunkClaim cc = parseClaim(s);
-                    if (cc != null) b.addClaim(cc);
-                }
+    /**
+     * Applies journal entries newer than each burg's shard, then folds the result back into
+     * the shards and empties the journal so the next run starts clean.
+     */
+    private void replayJournal(Map<String, Burg> burgs, Map<String, Long> shardSeq) {
+        if (!journal.exists()) return;
 
-                // treasury balances
-                ConfigurationSection t = cs.getConfigurationSection("treasury");
-                if (t != null) {
-                    for (String code : t.getKeys(false)) {
-                        long bal = t.getLong(code, 0L);
-                        b.getTreasuryBalances().put(code.toUpperCase(Locale.ROOT), bal);
-                    }
-                }
+        Set<String> touched = new LinkedHashSet<>();
+        int applied = 0;
 
-                // food stats
-                b.setBaseFoodCapacity(cs.getInt("food.baseCapacity", 0));
-                b.setLastFoodPoints(cs.getInt("food.lastPoints", 0));
-                b.setLastScanEpochSeconds(cs.getLong("food.lastScan", 0L));
-
-                // ✅ plots (NEW: plotUuid + owner + lien)
-                ConfigurationSection plots = cs.getConfigurationSection("plots");
-                if (plots != null) {
-                    for (String pid : plots.getKeys(false)) {
-                        ConfigurationSection ps = plots.getConfigurationSection(pid);
-                        if (ps == null) continue;
-
-                        try {
-                            UUID plotUuid = UUID.fromString(ps.getString("plotUuid"));
-                            Plot p = new Plot(
-                                    plotUuid,
-                                    pid,
-                                    ps.getString("name", pid),
-                                    UUID.fromString(ps.getString("world")),
-                                    ps.getInt("minX"), ps.getInt("minY"), ps.getInt("minZ"),
-                                    ps.getInt("maxX"), ps.getInt("maxY"), ps.getInt("maxZ")
-                            );
-
-                            p.setForSale(ps.getBoolean("forSale", false));
-                            p.setSalePrice(ps.getLong("salePrice", 0L));
-                            p.setSaleCurrencyCode(ps.getString("saleCurrencyCode", b.getAdoptedCurrencyCode()));
-
-                            String ownerStr = ps.getString("ownerUuid");
-                            if (ownerStr != null && !ownerStr.isBlank()) {
-                                p.setOwnerUuid(UUID.fromString(ownerStr));
-                            }
-
-                            String lienStr = ps.getString("lienHolderUuid");
-                            if (lienStr != null && !lienStr.isBlank()) {
-                                p.setLienHolderUuid(UUID.fromString(lienStr));
-                            }
-
-                            b.putPlot(p);
-                        } catch (Exception ex) {
-                            ex.printStackTrace();
-                        }
-                    }
-                }
+        for (BurgMutation.Entry e : journal.readAll()) {
+            journal.advanceTo(e.seq());
 
-                out.put(id, b);
+            BurgMutation m = e.mutation();
+            Burg b = burgs.get(m.getBurgId());
+            if (b == null) continue;
+            if (e.seq() <= shardSeq.getOrDefault(m.getBurgId(), 0L)) continue;
 
+            try {
+                m.apply(b);
+                touched.add(b.getId());
+                applied++;
             } catch (Exception ex) {
-                ex.printStackTrace();
+                plugin.getLogger().warning("Skipped journal entry " + e.seq() + " (" + m.getType()
+                        + ") for burg " + m.getBurgId() + ": " + ex.getMessage());
             }
         }
 
-        return out;
+        boolean folded = true;
+        for (String id : touched) {
+            folded &= write(capture(burgs.get(id)));
+        }
+        if (folded) {
+            journal.truncate();
+        } else {
+            plugin.getLogger().warning("Keeping " + JOURNAL_FILE + " because some shards could not be written.");
+        }
+
+        if (applied > 0) {
+            plugin.getLogger().info("Replayed " + applied + " journal entr" + (applied == 1 ? "y" : "ies")
+                    + " into " + touched.size() + " burg(s).");
+        }
     }
 
-    public void saveAll(Map<String, Burg> burgs) {
-        if (!plugin.getDataFolder().exists()) {
+    // ===== Legacy burgs.yml migration =====
+
+    /**
+     * One-time split of the legacy burgs.yml into per-burg shards.
+     * Burgs that already have a shard are left alone, so a migration interrupted halfway
+     * simply resumes on the next start. The legacy file is renamed, never deleted.
+     */
+    private void migrateLegacyFile() {
+        if (!legacyFile.exists()) return;
+
+        YamlConfiguration yml = YamlConfiguration.loadConfiguration(legacyFile);
+        ConfigurationSection root = yml.getConfigurationSection("burgs");
+
+        int migrated = 0;
+        if (root != null) {
+            for (String id : root.getKeys(false)) {
+                ConfigurationSection cs = root.getConfigurationSection(id);
+                if (cs == null) continue;
+                if (shardFile(id, ShardFormat.YAML).exists() || shardFile(id, ShardFormat.BINARY).exists()) continue;
+
+                // Copy the section verbatim: no re-serialization, so nothing tied to a loaded world is lost.
+                YamlConfiguration shard = new YamlConfiguration();
+                shard.set("id", id);
+                for (String key : cs.getKeys(false)) {
+                    shard.set(key, cs.get(key));
+                }
+
+                try {
+                    ensureShardDir();
+                    // legacy sections are copied as YAML; a binary setup converts them right after on load
+                    shard.save(shardFile(id, ShardFormat.YAML));
+                    migrated++;
+                } catch (IOException e) {
+                    plugin.getLogger().severe("Failed to migrate burg " + id + " from burgs.yml: " + e.getMessage());
+                    return;
+                }
+            }
+        }
+
+        File renamed = new File(legacyFile.getParentFile(), LEGACY_FILE + LEGACY_MIGRATED_SUFFIX);
+        if (!legacyFile.renameTo(renamed)) {
+            plugin.getLogger().warning("Migrated burgs.yml but could not rename it; it will be re-checked next start.");
+        }
+
+        plugin.getLogger().info("Migrated " + migrated + " burg(s) from burgs.yml into " + SHARD_DIR + "/.");
+    }
+
+    // ===== Shard layout =====
+
+    private void ensureShardDir() {
+        if (!shardDir.exists()) {
             //noinspection ResultOfMethodCallIgnored
-            plugin.getDataFolder().mkdirs();
+            shardDir.mkdirs();
         }
+    }
 
-        YamlConfiguration yml = new YamlConfiguration();
-        ConfigurationSection root = yml.createSection("burgs");
-
-        for (Burg b : burgs.values()) {
-            ConfigurationSection cs = root.createSection(b.getId());
-
-            cs.set("name", b.getName());
-            cs.set("stage", b.getPolityStage().name());
-            cs.set("leaderUuid", b.getLeaderUuid() == null ? null : b.getLeaderUuid().toString());
-            cs.set("rulerTitle", b.getRulerTitle());
-            cs.set("currency", b.getAdoptedCurrencyCode());
-            cs.set("treasuryUuid", b.getTreasuryUuid() == null ? null : b.getTreasuryUuid().toString());
-
-            cs.set("tax.sales", b.getSalesTaxRate());
-            cs.set("tax.mcfee", b.getMoneychangerFeeRate());
-
-            if (b.getWorldId() != null) {
-                cs.set("home.world", b.getWorldId().toString());
-                World w = plugin.getServer().getWorld(b.getWorldId());
-                Location home = (w == null) ? null : b.getHome(w);
-                if (home != null) {
-                    cs.set("home.x", home.getBlockX());
-                    cs.set("home.y", home.getBlockY());
-                    cs.set("home.z", home.getBlockZ());
+    private File shardFile(String id, ShardFormat shardFormat) {
+        // ids are generated as 12 hex chars; legacy ids are sanitized so they stay valid file names
+        String safe = id.replaceAll("[^A-Za-z0-9_-]", "_");
+        return new File(shardDir, safe + shardFormat.getExtension());
+    }
+
+    // ===== Section codec =====
+
+    private Burg readBurg(String id, ConfigurationSection cs) {
+        try {
+            // ✅ Burg constructor is Burg(String id)
+            Burg b = new Burg(id);
+
+            b.setName(cs.getString("name", id));
+
+            String stage = cs.getString("stage", "BURG");
+            try {
+                b.setPolityStage(PolityStage.valueOf(stage.toUpperCase(Locale.ROOT)));
+            } catch (Exception ignored) {
+                b.setPolityStage(PolityStage.BURG);
+            }
+
+            String leader = cs.getString("leaderUuid", null);
+            if (leader != null && !leader.isBlank()) {
+                try { b.setLeaderUuid(UUID.fromString(leader)); } catch (Exception ignored) {}
+            }
+
+            b.setRulerTitle(cs.getString("rulerTitle", "Lord-Mayor"));
+            b.setAdoptedCurrencyCode(cs.getString("currency", "SHEKEL"));
+
+            String treasuryUuid = cs.getString("treasuryUuid", null);
+            if (treasuryUuid != null && !treasuryUuid.isBlank()) {
+                try { b.setTreasuryUuid(UUID.fromString(treasuryUuid)); } catch (Exception ignored) {}
+            }
+
+            // tax policy
+            b.setSalesTaxRate(cs.getDouble("tax.sales", 0.0));
+            // moneychanger fee
+            double mcFee = cs.contains("tax.mcfee") ? cs.getDouble("tax.mcfee", 0.0) : cs.getDouble("moneychangerFeeRate", 0.0);
+            b.setMoneychangerFeeRate(mcFee);
+
+            // home
+            String homeWorld = cs.getString("home.world", null);
+            if (homeWorld != null && !homeWorld.isBlank()) {
+                try {
+                    // raw block coords: no loaded world needed, so nothing is dropped on the next save
+                    b.setHome(UUID.fromString(homeWorld), cs.getInt("home.x"), cs.getInt("home.y"), cs.getInt("home.z"));
+                } catch (Exception ignored) {}
+            }
+
+            // members
+            for (String m : cs.getStringList("members")) {
+                try { b.addMember(UUID.fromString(m)); } catch (Exception ignored) {}
+            }
+
+            // claims
+            for (String s : cs.getStringList("claims")) {
+                ChunkClaim cc = parseClaim(s);
+                if (cc != null) b.addClaim(cc);
+            }
+
+            // treasury balances
+            ConfigurationSection t = cs.getConfigurationSection("treasury");
+            if (t != null) {
+                for (String code : t.getKeys(false)) {
+                    long bal = t.getLong(code, 0L);
+                    b.setTreasuryBalance(code, bal);
                 }
             }
 
-            List<String> members = new ArrayList<>();
-            for (UUID u : b.getMembers()) members.add(u.toString());
-            cs.set("members", members);
+            // food stats
+            b.setBaseFoodCapacity(cs.getDouble("food.baseCapacity", 0.0));
+            b.setLastFoodPoints(cs.getDouble("food.lastPoints", 0.0));
+            b.setLastScanEpochSeconds(cs.getLong("food.lastScan", 0L));
+
+            // ✅ plots (NEW: plotUuid + owner + lien)
+            // only summarized here; the section is kept and parsed into Plot objects on first access
+            ConfigurationSection plots = cs.getConfigurationSection("plots");
+            if (plots != null) {
+                b.setLazyPlots(new YamlPlots(id, plots, b.getAdoptedCurrencyCode(), summarizePlots(plots)));
+            }
+
+            return b;
+
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return null;
+        }
+    }
+
+    /** A burg's plots section as loaded; writeBurg copies it back as is while no plot is built. */
+    private final class YamlPlots implements StoredPlots {
+        private final String burgId;
+        private final ConfigurationSection section;
+        private final String defaultCurrency;
+        private final PlotSummary summary;
+
+        YamlPlots(String burgId, ConfigurationSection section, String defaultCurrency, PlotSummary summary) {
+            this.burgId = burgId;
+            this.section = section;
+            this.defaultCurrency = defaultCurrency;
+            this.summary = summary;
+        }
+
+        @Override
+        public PlotSummary summary() {
+            return summary;
+        }
 
-            List<String> claims = new ArrayList<>();
-            for (ChunkClaim cc : b.getClaims()) claims.add(formatClaim(cc));
-            cs.set("claims", claims);
+        @Override
+        public List<Plot> build() {
+            return readPlots(burgId, section, defaultCurrency);
+        }
+    }
 
-            ConfigurationSection t = cs.createSection("treasury");
-            for (Map.Entry<String, Long> e : b.getTreasuryBalances().entrySet()) {
-                t.set(e.getKey().toUpperCase(Locale.ROOT), e.getValue());
+    /**
+     * Counts and bounds straight from the stored fields: no Plot is built and only the world id
+     * is parsed. Plots without a plotUuid or world are skipped, as readPlots skips them; one with
+     * corrupt UUID text is counted until building drops it.
+     */
+    private static PlotSummary summarizePlots(ConfigurationSection plots) {
+        PlotSummary.Builder summary = new PlotSummary.Builder();
+        String lastWorld = null;
+        UUID lastWorldId = null;
+
+        for (String pid : plots.getKeys(false)) {
+            ConfigurationSection ps = plots.getConfigurationSection(pid);
+            if (ps == null || ps.getString("plotUuid") == null) continue;
+
+            // a burg's plots nearly always share one world: parse its id once
+            String world = ps.getString("world");
+            if (world == null) continue;
+            if (!world.equals(lastWorld)) {
+                try {
+                    lastWorldId = UUID.fromString(world);
+                    lastWorld = world;
+                } catch (IllegalArgumentException ex) {
+                    continue;
+                }
             }
 
-            cs.set("food.baseCapacity", b.getBaseFoodCapacity());
-            cs.set("food.lastPoints", b.getLastFoodPoints());
-            cs.set("food.lastScan", b.getLastScanEpochSeconds());
-
-            // ✅ plots (NEW save format)
-            if (!b.getPlots().isEmpty()) {
-                ConfigurationSection plots = cs.createSection("plots");
-                b.getPlots().forEach((pid, p) -> {
-                    ConfigurationSection ps = plots.createSection(pid);
-                    ps.set("plotUuid", p.getPlotUuid().toString());
-                    ps.set("name", p.getName());
-                    ps.set("world", p.getWorldId().toString());
-
-                    ps.set("minX", p.getMinX()); ps.set("minY", p.getMinY()); ps.set("minZ", p.getMinZ());
-                    ps.set("maxX", p.getMaxX()); ps.set("maxY", p.getMaxY()); ps.set("maxZ", p.getMaxZ());
-
-                    ps.set("forSale", p.isForSale());
-                    ps.set("salePrice", p.getSalePrice());
-                    ps.set("saleCurrencyCode", p.getSaleCurrencyCode());
-
-                    ps.set("ownerUuid", p.getOwnerUuid() == null ? null : p.getOwnerUuid().toString());
-                    ps.set("lienHolderUuid", p.getLienHolderUuid() == null ? null : p.getLienHolderUuid().toString());
-                });
+            summary.add(lastWorldId, ps.getInt("minX"), ps.getInt("minZ"), ps.getInt("maxX"), ps.getInt("maxZ"),
+                    ps.getBoolean("forSale", false));
+        }
+        return summary.build();
+    }
+
+    /** Main thread, on first plot access: parses every well-formed plot; malformed ones are logged and left out. */
+    private List<Plot> readPlots(String burgId, ConfigurationSection plots, String defaultCurrency) {
+        List<Plot> out = new ArrayList<>();
+        for (String pid : plots.getKeys(false)) {
+            ConfigurationSection ps = plots.getConfigurationSection(pid);
+            if (ps == null) continue;
+
+            try {
+                UUID plotUuid = UUID.fromString(ps.getString("plotUuid"));
+                Plot p = new Plot(
+                        plotUuid,
+                        pid,
+                        ps.getString("name", pid),
+                        UUID.fromString(ps.getString("world")),
+                        ps.getInt("minX"), ps.getInt("minY"), ps.getInt("minZ"),
+                        ps.getInt("maxX"), ps.getInt("maxY"), ps.getInt("maxZ")
+                );
+
+                p.setForSale(ps.getBoolean("forSale", false));
+                p.setSalePrice(ps.getLong("salePrice", 0L));
+                p.setSaleCurrencyCode(ps.getString("saleCurrencyCode", defaultCurrency));
+
+                String ownerStr = ps.getString("ownerUuid");
+                if (ownerStr != null && !ownerStr.isBlank()) {
+                    p.setOwnerUuid(UUID.fromString(ownerStr));
+                }
+
+                String lienStr = ps.getString("lienHolderUuid");
+                if (lienStr != null && !lienStr.isBlank()) {
+                    p.setLienHolderUuid(UUID.fromString(lienStr));
+                }
+
+                out.add(p);
+            } catch (Exception ex) {
+                plugin.getLogger().warning("Skipping malformed plot " + pid + " of burg " + burgId + ": " + ex);
             }
         }
+        return out;
+    }
 
-        try {
-            yml.save(file);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Failed to save burgs.yml: " + e.getMessage());
+    private void writeBurg(ConfigurationSection cs, Burg b) {
+        cs.set("name", b.getName());
+        cs.set("stage", b.getPolityStage().name());
+        cs.set("leaderUuid", b.getLeaderUuid() == null ? null : b.getLeaderUuid().toString());
+        cs.set("rulerTitle", b.getRulerTitle());
+        cs.set("currency", b.getAdoptedCurrencyCode());
+        cs.set("treasuryUuid", b.getTreasuryUuid() == null ? null : b.getTreasuryUuid().toString());
+
+        cs.set("tax.sales", b.getSalesTaxRate());
+        cs.set("tax.mcfee", b.getMoneychangerFeeRate());
+
+        if (b.getWorldId() != null) {
+            cs.set("home.world", b.getWorldId().toString());
+            cs.set("home.x", b.getHomeX());
+            cs.set("home.y", b.getHomeY());
+            cs.set("home.z", b.getHomeZ());
+        }
+
+        List<String> members = new ArrayList<>();
+        for (UUID u : b.getMembers()) members.add(u.toString());
+        cs.set("members", members);
+
+        List<String> claims = new ArrayList<>();
+        for (ChunkClaim cc : b.getClaims()) claims.add(formatClaim(cc));
+        cs.set("claims", claims);
+
+        ConfigurationSection t = cs.createSection("treasury");
+        for (Map.Entry<String, Long> e : b.getTreasuryBalances().entrySet()) {
+            t.set(e.getKey().toUpperCase(Locale.ROOT), e.getValue());
+        }
+
+        cs.set("food.baseCapacity", b.getBaseFoodCapacity());
+        cs.set("food.lastPoints", b.getLastFoodPoints());
+        cs.set("food.lastScan", b.getLastScanEpochSeconds());
+
+        // ✅ plots (NEW save format)
+        if (b.getStoredPlots() instanceof YamlPlots stored) {
+            // never built since loading: write the loaded section back instead of building every plot
+            copySection(stored.section, cs.createSection("plots"));
+        } else if (!b.getPlots().isEmpty()) {
+            ConfigurationSection plots = cs.createSection("plots");
+            b.getPlots().forEach((pid, p) -> {
+                ConfigurationSection ps = plots.createSection(pid);
+                ps.set("plotUuid", p.getPlotUuid().toString());
+                ps.set("name", p.getName());
+                ps.set("world", p.getWorldId().toString());
+
+                ps.set("minX", p.getMinX()); ps.set("minY", p.getStoredMinY()); ps.set("minZ", p.getMinZ());
+                ps.set("maxX", p.getMaxX()); ps.set("maxY", p.getStoredMaxY()); ps.set("maxZ", p.getMaxZ());
+
+                ps.set("forSale", p.isForSale());
+                ps.set("salePrice", p.getSalePrice());
+                ps.set("saleCurrencyCode", p.getSaleCurrencyCode());
+
+                ps.set("ownerUuid", p.getOwnerUuid() == null ? null : p.getOwnerUuid().toString());
+                ps.set("lienHolderUuid", p.getLienHolderUuid() == null ? null : p.getLienHolderUuid().toString());
+            });
+        }
+    }
+
+    private static void copySection(ConfigurationSection from, ConfigurationSection to) {
+        for (String key : from.getKeys(false)) {
+            ConfigurationSection child = from.getConfigurationSection(key);
+            if (child != null) copySection(child, to.createSection(key));
+            else to.set(key, from.get(key));
         }
     }
 
@@ -271,7 +686,7 @@ public class BurgStorage {
             UUID world = UUID.fromString(parts[0]);
             int x = Integer.parseInt(parts[1]);
             int z = Integer.parseInt(parts[2]);
-            return new ChunkClaim(world, x, z);
+            return ChunkClaim.of(world, x, z);
         } catch (Exception e) {
             return null;
         }
@@ -0,0 +1,523 @@
+package com.brandon.burgsbanners.burg.storage;
+
+import com.brandon.burgsbanners.burg.Burg;
+import com.brandon.burgsbanners.burg.ChunkClaim;
+import com.brandon.burgsbanners.burg.PolityStage;
+import com.brandon.burgsbanners.burg.plot.Plot;
+import com.brandon.burgsbanners.burg.plot.PlotSummary;
+import com.brandon.burgsbanners.burg.plot.StoredPlots;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * storage.backend: sqlite. Burgs live in normalized tables (burgs, burg_members, burg_claims,
+ * burg_treasury, burg_plots) and every journaled mutation becomes a row update, so a change to
+ * one plot or one rate never rewrites anything else. A snapshot replaces one burg's rows in a
+ * single transaction. Plot rows are read at load into compact detached rows; the Plot objects
+ * are only built when a burg's plots are first used, without touching the database again.
+ *
+ * On first start against an empty database the file shards are imported; they are left on disk.
+ */
+public class SqliteBurgRepository implements BurgRepository {
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS burgs ("
+                    + "id TEXT PRIMARY KEY, name TEXT, stage TEXT NOT NULL, leader TEXT, ruler_title TEXT,"
+                    + " currency TEXT NOT NULL, treasury_uuid TEXT, sales_tax REAL NOT NULL, mc_fee REAL NOT NULL,"
+                    + " home_world TEXT, home_x INTEGER, home_y INTEGER, home_z INTEGER,"
+                    + " food_base REAL NOT NULL, food_last REAL NOT NULL, food_scan INTEGER NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS burg_members ("
+                    + "burg_id TEXT NOT NULL, member TEXT NOT NULL, PRIMARY KEY (burg_id, member))",
+            "CREATE INDEX IF NOT EXISTS idx_burg_members_member ON burg_members (member)",
+            "CREATE TABLE IF NOT EXISTS burg_claims ("
+                    + "world TEXT NOT NULL, chunk_x INTEGER NOT NULL, chunk_z INTEGER NOT NULL, burg_id TEXT NOT NULL,"
+                    + " PRIMARY KEY (world, chunk_x, chunk_z))",
+            "CREATE INDEX IF NOT EXISTS idx_burg_claims_burg ON burg_claims (burg_id)",
+            "CREATE TABLE IF NOT EXISTS burg_treasury ("
+                    + "burg_id TEXT NOT NULL, currency TEXT NOT NULL, balance INTEGER NOT NULL,"
+                    + " PRIMARY KEY (burg_id, currency))",
+            "CREATE TABLE IF NOT EXISTS burg_plots ("
+                    + "burg_id TEXT NOT NULL, plot_id TEXT NOT NULL, plot_uuid TEXT NOT NULL, name TEXT, world TEXT NOT NULL,"
+                    + " min_x INTEGER NOT NULL, min_y INTEGER NOT NULL, min_z INTEGER NOT NULL,"
+                    + " max_x INTEGER NOT NULL, max_y INTEGER NOT NULL, max_z INTEGER NOT NULL,"
+                    + " for_sale INTEGER NOT NULL, sale_price INTEGER NOT NULL, sale_currency TEXT NOT NULL,"
+                    + " owner TEXT, lien_holder TEXT, PRIMARY KEY (burg_id, plot_id))",
+            "CREATE INDEX IF NOT EXISTS idx_burg_plots_owner ON burg_plots (owner)"
+    };
+
+    private static final String UPSERT_BURG = "INSERT OR REPLACE INTO burgs ("
+            + "id, name, stage, leader, ruler_title, currency, treasury_uuid, sales_tax, mc_fee,"
+            + " home_world, home_x, home_y, home_z, food_base, food_last, food_scan)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MEMBER = "INSERT OR IGNORE INTO burg_members (burg_id, member) VALUES (?, ?)";
+    // a chunk held by another burg is never moved over: ClaimIndex rejects double claims, so a
+    // conflict here means the data is corrupt and is reported instead
+    private static final String INSERT_CLAIM = "INSERT INTO burg_claims (world, chunk_x, chunk_z, burg_id) VALUES (?, ?, ?, ?)"
+            + " ON CONFLICT (world, chunk_x, chunk_z) DO NOTHING";
+    private static final String UPSERT_TREASURY = "INSERT OR REPLACE INTO burg_treasury (burg_id, currency, balance) VALUES (?, ?, ?)";
+    private static final String INSERT_PLOT = "INSERT OR REPLACE INTO burg_plots ("
+            + "burg_id, plot_id, plot_uuid, name, world, min_x, min_y, min_z, max_x, max_y, max_z,"
+            + " for_sale, sale_price, sale_currency, owner, lien_holder)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** A detached copy of one plot row, captured on the main thread. */
+    private record PlotRow(String id, UUID plotUuid, String name, UUID worldId,
+                           int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                           boolean forSale, long salePrice, String saleCurrency,
+                           UUID owner, UUID lienHolder) {}
+
+    /** A burg's plot rows as read at load; capture leaves the rows alone until they are built. */
+    private record PlotRows(List<PlotRow> rows, PlotSummary summary) implements StoredPlots {
+        @Override
+        public List<Plot> build() {
+            return toPlots(rows);
+        }
+    }
+
+    /** A detached copy of one burg and its child rows, captured on the main thread. plots is null if never loaded. */
+    private record BurgRow(String id, String name, String stage, UUID leader, String rulerTitle,
+                           String currency, UUID treasuryUuid, double salesTax, double mcFee,
+                           UUID homeWorld, int homeX, int homeY, int homeZ,
+                           double foodBase, double foodLast, long foodScan,
+                           List<UUID> members, List<ChunkClaim> claims,
+                           Map<String, Long> treasury, List<PlotRow> plots) {}
+
+    private final JavaPlugin plugin;
+    private final SqliteDatabase database;
+    private final BurgRepository importFrom;
+
+    /** @param importFrom seeds an empty database (the file backend); may be null */
+    public SqliteBurgRepository(JavaPlugin plugin, SqliteDatabase database, BurgRepository importFrom) {
+        this.plugin = plugin;
+        this.database = database;
+        this.importFrom = importFrom;
+    }
+
+    // ===== BurgRepository =====
+
+    @Override
+    public Map<String, Burg> loadAll() {
+        try {
+            database.createSchema(SCHEMA);
+
+            Map<String, Burg> out = database.transaction(this::readAll);
+            if (out.isEmpty() && importFrom != null) {
+                out = importFiles();
+            }
+
+            for (Burg b : out.values()) b.clearAllDirty();
+            return out;
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to load burgs from " + SqliteDatabase.FILE_NAME + ": " + e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    @Override
+    public Write snapshot(Burg burg) {
+        BurgRow row = capture(burg);
+        burg.clearAllDirty();
+        return () -> run("save burg " + row.id(), c -> {
+            writeBurg(c, row);
+            return null;
+        });
+    }
+
+    @Override
+    public Write mutations(List<BurgMutation> batch) {
+        List<BurgMutation> copy = List.copyOf(batch);
+        return () -> run("apply " + copy.size() + " burg change(s)", c -> {
+            applyMutations(c, copy);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean isJournaled() {
+        return false;
+    }
+
+    @Override
+    public long logBytes() {
+        return 0L;
+    }
+
+    @Override
+    public Write compactLog() {
+        return () -> true;
+    }
+
+    @Override
+    public void close() {
+        // the shared connection is closed by the plugin once bonds are saved too
+    }
+
+    private boolean run(String what, SqliteDatabase.Work<Void> work) {
+        try {
+            database.transaction(work);
+            return true;
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to " + what + " in " + SqliteDatabase.FILE_NAME + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // ===== Import =====
+
+    private Map<String, Burg> importFiles() throws SQLException {
+        Map<String, Burg> burgs = importFrom.loadAll();
+        if (burgs.isEmpty()) return burgs;
+
+        List<BurgRow> rows = new ArrayList<>(burgs.size());
+        for (Burg b : burgs.values()) {
+            b.getPlots(); // build the plots so their rows are copied too
+            rows.add(capture(b));
+        }
+
+        database.transaction(c -> {
+            for (BurgRow row : rows) writeBurg(c, row);
+            return null;
+        });
+
+        plugin.getLogger().info("Imported " + rows.size() + " burg(s) from shard files into " + SqliteDatabase.FILE_NAME + ".");
+        return burgs;
+    }
+
+    // ===== Capture (main thread) =====
+
+    private BurgRow capture(Burg b) {
+        // plots that were never built cannot have changed; leave their rows alone
+        List<PlotRow> plots = b.arePlotsLoaded() ? new ArrayList<>(b.getPlotCount()) : null;
+        if (plots != null) {
+            for (Plot p : b.getPlots().values()) {
+                plots.add(new PlotRow(
+                        p.getId(), p.getPlotUuid(), p.getName(), p.getWorldId(),
+                        p.getMinX(), p.getStoredMinY(), p.getMinZ(), p.getMaxX(), p.getStoredMaxY(), p.getMaxZ(),
+                        p.isForSale(), p.getSalePrice(), p.getSaleCurrencyCode(),
+                        p.getOwnerUuid(), p.getLienHolderUuid()
+                ));
+            }
+        }
+
+        return new BurgRow(
+                b.getId(), b.getName(), b.getPolityStage().name(), b.getLeaderUuid(), b.getRulerTitle(),
+                b.getAdoptedCurrencyCode(), b.getTreasuryUuid(), b.getSalesTaxRate(), b.getMoneychangerFeeRate(),
+                b.getWorldId(), b.getHomeX(), b.getHomeY(), b.getHomeZ(),
+                b.getBaseFoodCapacity(), b.getLastFoodPoints(), b.getLastScanEpochSeconds(),
+                List.copyOf(b.getMembers()), List.copyOf(b.getClaims()),
+                Map.copyOf(b.getTreasuryBalances()), plots
+        );
+    }
+
+    // ===== Writes (writer thread, inside a transaction) =====
+
+    private void writeBurg(Connection c, BurgRow row) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(UPSERT_BURG)) {
+            ps.setString(1, row.id());
+            ps.setString(2, row.name());
+            ps.setString(3, row.stage());
+            ps.setString(4, str(row.leader()));
+            ps.setString(5, row.rulerTitle());
+            ps.setString(6, row.currency());
+            ps.setString(7, str(row.treasuryUuid()));
+            ps.setDouble(8, row.salesTax());
+            ps.setDouble(9, row.mcFee());
+            ps.setString(10, str(row.homeWorld()));
+            ps.setInt(11, row.homeX());
+            ps.setInt(12, row.homeY());
+            ps.setInt(13, row.homeZ());
+            ps.setDouble(14, row.foodBase());
+            ps.setDouble(15, row.foodLast());
+            ps.setLong(16, row.foodScan());
+            ps.executeUpdate();
+        }
+
+        List<String> tables = new ArrayList<>(List.of("burg_members", "burg_claims", "burg_treasury"));
+        if (row.plots() != null) tables.add("burg_plots");
+        for (String table : tables) {
+            try (PreparedStatement ps = c.prepareStatement("DELETE FROM " + table + " WHERE burg_id = ?")) {
+                ps.setString(1, row.id());
+                ps.executeUpdate();
+            }
+        }
+
+        try (PreparedStatement ps = c.prepareStatement(INSERT_MEMBER)) {
+            for (UUID m : row.members()) {
+                ps.setString(1, row.id());
+                ps.setString(2, m.toString());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        try (PreparedStatement ps = c.prepareStatement(INSERT_CLAIM)) {
+            for (ChunkClaim cc : row.claims()) {
+                bindClaim(ps, cc, row.id());
+                ps.addBatch();
+            }
+            int[] inserted = ps.executeBatch();
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i] == 0) reportClaimConflict(c, row.claims().get(i), row.id());
+            }
+        }
+
+        try (PreparedStatement ps = c.prepareStatement(UPSERT_TREASURY)) {
+            for (Map.Entry<String, Long> e : row.treasury().entrySet()) {
+                ps.setString(1, row.id());
+                ps.setString(2, e.getKey());
+                ps.setLong(3, e.getValue());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        if (row.plots() == null) return;
+        try (PreparedStatement ps = c.prepareStatement(INSERT_PLOT)) {
+            for (PlotRow p : row.plots()) {
+                ps.setString(1, row.id());
+                ps.setString(2, p.id());
+                ps.setString(3, p.plotUuid().toString());
+                ps.setString(4, p.name());
+                ps.setString(5, p.worldId().toString());
+                ps.setInt(6, p.minX()); ps.setInt(7, p.minY()); ps.setInt(8, p.minZ());
+                ps.setInt(9, p.maxX()); ps.setInt(10, p.maxY()); ps.setInt(11, p.maxZ());
+                ps.setBoolean(12, p.forSale());
+                ps.setLong(13, p.salePrice());
+                ps.setString(14, p.saleCurrency());
+                ps.setString(15, str(p.owner()));
+                ps.setString(16, str(p.lienHolder()));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /** Applies journaled mutations as row updates, in order (a claim may be added then removed). */
+    private void applyMutations(Connection c, List<BurgMutation> batch) throws SQLException {
+        Map<String, PreparedStatement> statements = new HashMap<>();
+        try {
+            for (BurgMutation m : batch) {
+                String burgId = m.getBurgId();
+                switch (m.getType()) {
+                    case CLAIM_ADDED -> {
+                        ChunkClaim cc = ChunkClaim.fromKey(m.arg(0));
+                        if (cc == null) continue;
+                        PreparedStatement ps = prepare(c, statements, INSERT_CLAIM);
+                        bindClaim(ps, cc, burgId);
+                        if (ps.executeUpdate() == 0) reportClaimConflict(c, cc, burgId);
+                    }
+                    case CLAIM_REMOVED -> {
+                        ChunkClaim cc = ChunkClaim.fromKey(m.arg(0));
+                        if (cc == null) continue;
+                        PreparedStatement ps = prepare(c, statements,
+                                "DELETE FROM burg_claims WHERE world = ? AND chunk_x = ? AND chunk_z = ? AND burg_id = ?");
+                        bindClaim(ps, cc, burgId);
+                        ps.executeUpdate();
+                    }
+                    case MEMBER_JOINED -> update(prepare(c, statements, INSERT_MEMBER), burgId, m.arg(0));
+                    case MEMBER_LEFT -> update(prepare(c, statements,
+                            "DELETE FROM burg_members WHERE burg_id = ? AND member = ?"), burgId, m.arg(0));
+                    case LEADER_CHANGED -> update(prepare(c, statements,
+                            "UPDATE burgs SET leader = ? WHERE id = ?"), m.arg(0), burgId);
+                    case TAX_CHANGED -> {
+                        PreparedStatement ps = prepare(c, statements,
+                                "UPDATE burgs SET sales_tax = ?, mc_fee = ? WHERE id = ?");
+                        ps.setDouble(1, Double.parseDouble(m.arg(0)));
+                        ps.setDouble(2, Double.parseDouble(m.arg(1)));
+                        ps.setString(3, burgId);
+                        ps.executeUpdate();
+                    }
+                    case FOOD_CHANGED -> {
+                        PreparedStatement ps = prepare(c, statements,
+                                "UPDATE burgs SET food_base = ?, food_last = ?, food_scan = ? WHERE id = ?");
+                        ps.setDouble(1, Double.parseDouble(m.arg(0)));
+                        ps.setDouble(2, Double.parseDouble(m.arg(1)));
+                        ps.setLong(3, Long.parseLong(m.arg(2)));
+                        ps.setString(4, burgId);
+                        ps.executeUpdate();
+                    }
+                    case PLOT_OWNER_CHANGED -> update(prepare(c, statements,
+                            "UPDATE burg_plots SET owner = ? WHERE burg_id = ? AND plot_id = ?"), m.arg(1), burgId, m.arg(0));
+                    case PLOT_LISTING_CHANGED -> {
+                        PreparedStatement ps = prepare(c, statements,
+                                "UPDATE burg_plots SET for_sale = ?, sale_price = ?, sale_currency = ? WHERE burg_id = ? AND plot_id = ?");
+                        ps.setBoolean(1, Boolean.parseBoolean(m.arg(1)));
+                        ps.setLong(2, Long.parseLong(m.arg(2)));
+                        ps.setString(3, m.arg(3));
+                        ps.setString(4, burgId);
+                        ps.setString(5, m.arg(0));
+                        ps.executeUpdate();
+                    }
+                    case TREASURY_CHANGED -> {
+                        PreparedStatement ps = prepare(c, statements, UPSERT_TREASURY);
+                        ps.setString(1, burgId);
+                        ps.setString(2, m.arg(0));
+                        ps.setLong(3, Long.parseLong(m.arg(1)));
+                        ps.executeUpdate();
+                    }
+                }
+            }
+        } finally {
+            for (PreparedStatement ps : statements.values()) ps.close();
+        }
+    }
+
+    private static PreparedStatement prepare(Connection c, Map<String, PreparedStatement> cache, String sql) throws SQLException {
+        PreparedStatement ps = cache.get(sql);
+        if (ps == null) {
+            ps = c.prepareStatement(sql);
+            cache.put(sql, ps);
+        }
+        return ps;
+    }
+
+    private static void update(PreparedStatement ps, String... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) ps.setString(i + 1, params[i]);
+        ps.executeUpdate();
+    }
+
+    /** Logs a claim row that could not be written because another burg already holds the chunk. */
+    private void reportClaimConflict(Connection c, ChunkClaim cc, String burgId) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT burg_id FROM burg_claims WHERE world = ? AND chunk_x = ? AND chunk_z = ?")) {
+            ps.setString(1, cc.getWorldId().toString());
+            ps.setInt(2, cc.getChunkX());
+            ps.setInt(3, cc.getChunkZ());
+            try (ResultSet rs = ps.executeQuery()) {
+                String holder = rs.next() ? rs.getString(1) : null;
+                if (holder == null || holder.equals(burgId)) return;
+                plugin.getLogger().severe("Claim conflict in " + SqliteDatabase.FILE_NAME + ": chunk " + cc.toKey()
+                        + " of burg " + burgId + " is already held by burg " + holder + "; the row was not moved.");
+            }
+        }
+    }
+
+    private static void bindClaim(PreparedStatement ps, ChunkClaim cc, String burgId) throws SQLException {
+        ps.setString(1, cc.getWorldId().toString());
+        ps.setInt(2, cc.getChunkX());
+        ps.setInt(3, cc.getChunkZ());
+        ps.setString(4, burgId);
+    }
+
+    // ===== Reads (startup) =====
+
+    private Map<String, Burg> readAll(Connection c) throws SQLException {
+        Map<String, Burg> out = new LinkedHashMap<>();
+
+        try (Statement st = c.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT * FROM burgs ORDER BY id")) {
+                while (rs.next()) {
+                    Burg b = new Burg(rs.getString("id"));
+                    b.setName(rs.getString("name"));
+                    try {
+                        b.setPolityStage(PolityStage.valueOf(rs.getString("stage")));
+                    } catch (IllegalArgumentException ignored) {
+                        b.setPolityStage(PolityStage.BURG);
+                    }
+                    b.setLeaderUuid(uuid(rs.getString("leader")));
+                    b.setRulerTitle(rs.getString("ruler_title"));
+                    b.setAdoptedCurrencyCode(rs.getString("currency"));
+                    b.setTreasuryUuid(uuid(rs.getString("treasury_uuid")));
+                    b.setSalesTaxRate(rs.getDouble("sales_tax"));
+                    b.setMoneychangerFeeRate(rs.getDouble("mc_fee"));
+
+                    UUID homeWorld = uuid(rs.getString("home_world"));
+                    if (homeWorld != null) {
+                        b.setHome(homeWorld, rs.getInt("home_x"), rs.getInt("home_y"), rs.getInt("home_z"));
+                    }
+
+                    b.setBaseFoodCapacity(rs.getDouble("food_base"));
+                    b.setLastFoodPoints(rs.getDouble("food_last"));
+                    b.setLastScanEpochSeconds(rs.getLong("food_scan"));
+                    out.put(b.getId(), b);
+                }
+            }
+
+            try (ResultSet rs = st.executeQuery("SELECT burg_id, member FROM burg_members")) {
+                while (rs.next()) {
+                    Burg b = out.get(rs.getString(1));
+                    UUID member = uuid(rs.getString(2));
+                    if (b != null && member != null) b.addMember(member);
+                }
+            }
+
+            try (ResultSet rs = st.executeQuery("SELECT burg_id, world, chunk_x, chunk_z FROM burg_claims")) {
+                while (rs.next()) {
+                    Burg b = out.get(rs.getString(1));
+                    UUID world = uuid(rs.getString(2));
+                    if (b != null && world != null) b.addClaim(ChunkClaim.of(world, rs.getInt(3), rs.getInt(4)));
+                }
+            }
+
+            try (ResultSet rs = st.executeQuery("SELECT burg_id, currency, balance FROM burg_treasury")) {
+                while (rs.next()) {
+                    Burg b = out.get(rs.getString(1));
+                    if (b != null) b.setTreasuryBalance(rs.getString(2), rs.getLong(3));
+                }
+            }
+
+            // plots: read now (the server thread must not wait on the shared connection later),
+            // built into Plot objects on first use
+            Map<String, List<PlotRow>> plotRows = new HashMap<>();
+            try (ResultSet rs = st.executeQuery("SELECT * FROM burg_plots ORDER BY rowid")) {
+                while (rs.next()) {
+                    String burgId = rs.getString("burg_id");
+                    if (!out.containsKey(burgId)) continue;
+
+                    UUID plotUuid = uuid(rs.getString("plot_uuid"));
+                    UUID world = uuid(rs.getString("world"));
+                    if (plotUuid == null || world == null) continue;
+
+                    plotRows.computeIfAbsent(burgId, k -> new ArrayList<>()).add(new PlotRow(
+                            rs.getString("plot_id"), plotUuid, rs.getString("name"), world,
+                            rs.getInt("min_x"), rs.getInt("min_y"), rs.getInt("min_z"),
+                            rs.getInt("max_x"), rs.getInt("max_y"), rs.getInt("max_z"),
+                            rs.getBoolean("for_sale"), rs.getLong("sale_price"), rs.getString("sale_currency"),
+                            uuid(rs.getString("owner")), uuid(rs.getString("lien_holder"))
+                    ));
+                }
+            }
+
+            for (Map.Entry<String, List<PlotRow>> e : plotRows.entrySet()) {
+                List<PlotRow> rows = e.getValue();
+                PlotSummary.Builder summary = new PlotSummary.Builder();
+                for (PlotRow p : rows) summary.add(p.worldId(), p.minX(), p.minZ(), p.maxX(), p.maxZ(), p.forSale());
+                out.get(e.getKey()).setLazyPlots(new PlotRows(rows, summary.build()));
+            }
+        }
+
+        return out;
+    }
+
+    /** Main thread, on a burg's first plot access: builds Plot objects from the rows read at load. */
+    private static List<Plot> toPlots(List<PlotRow> rows) {
+        List<Plot> out = new ArrayList<>(rows.size());
+        for (PlotRow r : rows) {
+            Plot p = new Plot(
+                    r.plotUuid(), r.id(), r.name(), r.worldId(),
+                    r.minX(), r.minY(), r.minZ(), r.maxX(), r.maxY(), r.maxZ()
+            );
+            p.setForSale(r.forSale());
+            p.setSalePrice(r.salePrice());
+            p.setSaleCurrencyCode(r.saleCurrency());
+            p.setOwnerUuid(r.owner());
+            p.setLienHolderUuid(r.lienHolder());
+            out.add(p);
+        }
+        return out;
+    }
+    private static String str(UUID uuid) {
+        return uuid == null ? null : uuid.toString();
+    }
+
+    private static UUID uuid(String s) {
+        if (s == null || s.isBlank()) return null;
+        try {
+            return UUID.fromString(s);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
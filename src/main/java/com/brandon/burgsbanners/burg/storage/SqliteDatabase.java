@@ -0,0 +1,126 @@
+package com.brandon.burgsbanners.burg.storage;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The embedded database behind storage.backend: sqlite (plugins/BurgsAndBanners/burgsandbanners.db).
+ *
+ * One connection is shared by the burg writer thread and the bond repository; every unit of work
+ * goes through {@link #transaction}, which serializes callers on this object.
+ * The SQLite JDBC driver ships with Paper, so nothing extra is shaded into the plugin.
+ */
+public class SqliteDatabase {
+
+    public static final String FILE_NAME = "burgsandbanners.db";
+
+    /** A unit of work run inside one transaction. */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    private final JavaPlugin plugin;
+    private final File file;
+    private Connection connection;
+
+    public SqliteDatabase(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+    }
+
+    private Connection connection() throws SQLException {
+        if (connection != null && !connection.isClosed()) return connection;
+
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            //noinspection ResultOfMethodCallIgnored
+            parent.mkdirs();
+        }
+
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+        try (Statement st = connection.createStatement()) {
+            // WAL: readers never block the writer, and a commit is one sequential append
+            st.execute("PRAGMA journal_mode=WAL");
+            st.execute("PRAGMA synchronous=NORMAL");
+            st.execute("PRAGMA busy_timeout=5000");
+        }
+        return connection;
+    }
+
+    /** Runs the work in a single transaction; rolls back and rethrows on failure. */
+    public synchronized <T> T transaction(Work<T> work) throws SQLException {
+        Connection c = connection();
+        c.setAutoCommit(false);
+        try {
+            T result = work.run(c);
+            c.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                c.rollback();
+            } catch (SQLException rollback) {
+                e.addSuppressed(rollback);
+            }
+            throw e;
+        } finally {
+            c.setAutoCommit(true);
+        }
+    }
+
+    /** Runs DDL statements (CREATE TABLE/INDEX IF NOT EXISTS ...) in one transaction. */
+    public void createSchema(String... statements) throws SQLException {
+        transaction(c -> {
+            try (Statement st = c.createStatement()) {
+                for (String sql : statements) st.execute(sql);
+            }
+            return null;
+        });
+    }
+
+    /** One-shot markers ("bonds.yml was imported", ...) live in a small key/value table. */
+    private static final String META_SCHEMA = "CREATE TABLE IF NOT EXISTS meta (key TEXT PRIMARY KEY, value TEXT NOT NULL)";
+
+    /** True once {@link #setMarker} has run for this key, in any earlier transaction. */
+    public static boolean hasMarker(Connection c, String key) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.execute(META_SCHEMA);
+        }
+        try (PreparedStatement ps = c.prepareStatement("SELECT 1 FROM meta WHERE key = ?")) {
+            ps.setString(1, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /** Records the marker inside the caller's transaction, so it commits with the work it guards. */
+    public static void setMarker(Connection c, String key) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.execute(META_SCHEMA);
+        }
+        try (PreparedStatement ps = c.prepareStatement("INSERT OR REPLACE INTO meta (key, value) VALUES (?, ?)")) {
+            ps.setString(1, key);
+            ps.setString(2, Long.toString(System.currentTimeMillis()));
+            ps.executeUpdate();
+        }
+    }
+
+    /** On disable, after the burg writer and bond saves are done. */
+    public synchronized void close() {
+        if (connection == null) return;
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Failed to close " + FILE_NAME + ": " + e.getMessage());
+        }
+        connection = null;
+    }
+}
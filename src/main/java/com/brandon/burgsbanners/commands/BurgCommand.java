@@ -35,7 +35,7 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
 
     private static final List<String> SUBS = List.of(
             "found", "info", "treasury", "claim", "unclaim",
-            "join", "leave", "abdicate", "plot", "bonds"
+            "join", "leave", "abdicate", "rename", "plot", "bonds"
     );
 
     public BurgCommand(JavaPlugin plugin,
@@ -68,28 +68,12 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
     }
 
     /**
-     * Safely set leader UUID. Uses a public setter if present, otherwise falls back to a field named "leaderUuid".
+     * Sets the leader through BurgManager so the change is journaled.
      */
     private boolean trySetLeader(Burg burg, UUID newLeader) {
         if (burg == null) return false;
-        try {
-            var m = burg.getClass().getMethod("setLeaderUuid", UUID.class);
-            m.invoke(burg, newLeader);
-            return true;
-        } catch (NoSuchMethodException ignored) {
-            try {
-                var f = burg.getClass().getDeclaredField("leaderUuid");
-                f.setAccessible(true);
-                f.set(burg, newLeader);
-                return true;
-            } catch (Exception e) {
-                plugin.getLogger().warning("Could not set burg leader (no setLeaderUuid + no leaderUuid field): " + e.getMessage());
-                return false;
-            }
-        } catch (Exception e) {
-            plugin.getLogger().warning("Could not set burg leader: " + e.getMessage());
-            return false;
-        }
+        burgManager.setLeader(burg, newLeader);
+        return true;
     }
 
     /**
@@ -98,10 +82,8 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
     private UUID pickSuccessor(Burg burg, UUID exclude) {
         if (burg == null || burg.getMembers() == null) return null;
 
-        for (UUID u : burg.getMembers()) {
-            if (u == null || u.equals(exclude)) continue;
-            Player p = Bukkit.getPlayer(u);
-            if (p != null && p.isOnline()) return u;
+        for (UUID u : burgManager.getOnlineMembers(burg)) {
+            if (!u.equals(exclude)) return u;
         }
         for (UUID u : burg.getMembers()) {
             if (u == null || u.equals(exclude)) continue;
@@ -125,13 +107,14 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
 
         return switch (sub) {
             case "found" -> handleFound(sender, label, args);
-            case "info" -> handleInfo(sender);
+            case "info" -> handleInfo(sender, args);
             case "treasury" -> handleTreasury(sender);
             case "claim" -> handleClaim(sender);
             case "unclaim" -> handleUnclaim(sender);
             case "join" -> handleJoin(sender, label, args);
             case "leave" -> handleLeave(sender);
             case "abdicate" -> handleAbdicate(sender);
+            case "rename" -> handleRename(sender, label, args);
             case "plot" -> handlePlot(sender, label, args);
             case "bonds" -> handleBonds(sender, label, args);
             default -> {
@@ -157,6 +140,10 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
             return subs.stream().filter(s -> s.startsWith(p)).collect(Collectors.toList());
         }
 
+        if (args.length == 2 && args[0].equalsIgnoreCase("info")) {
+            return burgManager.findBurgNamesByPrefix(args[1], 50);
+        }
+
         if (args.length == 3 && args[0].equalsIgnoreCase("found") && mpc != null && mpc.isHooked()) {
             return mpc.suggestCurrencyCodes(args[2]);
         }
@@ -177,7 +164,7 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
             }
         }
         if (args.length == 2 && args[0].equalsIgnoreCase("bonds")) {
-            List<String> subs = List.of("buy", "redeem", "list", "debug");
+            List<String> subs = List.of("buy", "redeem", "list", "history", "debug");
             String p = args[1].toLowerCase(Locale.ROOT);
             return subs.stream().filter(s -> s.startsWith(p)).collect(Collectors.toList());
         }
@@ -190,16 +177,18 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
     private void help(CommandSender sender, String label) {
         sender.sendMessage(c("&6== &eBurg Commands &6=="));
         sender.sendMessage(c("&e/" + label + " found <name> <currency>"));
-        sender.sendMessage(c("&e/" + label + " info"));
+        sender.sendMessage(c("&e/" + label + " info [burg]"));
         sender.sendMessage(c("&e/" + label + " treasury"));
         sender.sendMessage(c("&e/" + label + " claim"));
         sender.sendMessage(c("&e/" + label + " unclaim"));
         sender.sendMessage(c("&e/" + label + " join"));
         sender.sendMessage(c("&e/" + label + " leave"));
+        sender.sendMessage(c("&e/" + label + " rename <name>"));
         sender.sendMessage(c("&e/" + label + " plot pos1|pos2|create|show|list|assign|unassign"));
         sender.sendMessage(c("&e/" + label + " bonds buy <amount>"));
         sender.sendMessage(c("&e/" + label + " bonds redeem <bondId>"));
         sender.sendMessage(c("&e/" + label + " bonds list"));
+        sender.sendMessage(c("&e/" + label + " bonds history"));
     }
 
     /* ================= FOUND ================= */
@@ -334,7 +323,7 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        if (!here.getMembers().add(player.getUniqueId())) {
+        if (!burgManager.tryJoinMember(here, player.getUniqueId())) {
             player.sendMessage(c("&cYou are already a member."));
             return true;
         }
@@ -346,7 +335,6 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
             }
         }
 
-        burgManager.save(here);
         player.sendMessage(c("&aJoined burg: &f" + here.getName()));
         return true;
     }
@@ -383,13 +371,11 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
             // If nobody remains, orphan (leader = null); otherwise set successor
             if (successor == null) {
                 trySetLeader(burg, null);
-                burgManager.save(burg);
                 sender.sendMessage(c("&eYou left &f" + burg.getName() + "&e. The burg is now &6orphaned&e."));
                 return true;
             }
 
             trySetLeader(burg, successor);
-            burgManager.save(burg);
 
             sender.sendMessage(c("&eYou left &f" + burg.getName() + "&e. &6" + nameOf(successor) + "&e is now Mayor."));
             Player succP = Bukkit.getPlayer(successor);
@@ -405,26 +391,73 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
-    /* ================= INFO / TREASURY ================= */
+    /* ================= RENAME ================= */
 
-    private boolean handleInfo(CommandSender sender) {
+    private boolean handleRename(CommandSender sender, String label, String[] args) {
         if (!(sender instanceof Player player)) {
             sender.sendMessage(c("&cPlayers only."));
             return true;
         }
 
+        if (args.length < 2) {
+            sender.sendMessage(c("&cUsage: /" + label + " rename <name>"));
+            return true;
+        }
+
         Burg burg = burgManager.getBurgByMember(player.getUniqueId());
         if (burg == null) {
             sender.sendMessage(c("&cYou are not in a burg."));
             return true;
         }
 
+        if (!isMayor(burg, player.getUniqueId()) && !player.isOp()) {
+            sender.sendMessage(c("&cOnly the mayor can rename the burg."));
+            return true;
+        }
+
+        // the rest of the line, as /burg info and /burgproperty list read a burg name
+        String name = String.join(" ", Arrays.copyOfRange(args, 1, args.length)).trim();
+        if (name.length() < 3 || name.length() > 24 || !burgManager.renameBurg(burg, name)) {
+            sender.sendMessage(c("&cInvalid or duplicate burg name."));
+            return true;
+        }
+
+        sender.sendMessage(c("&aBurg renamed to &f" + burg.getName()));
+        return true;
+    }
+
+    /* ================= INFO / TREASURY ================= */
+
+    private boolean handleInfo(CommandSender sender, String[] args) {
+        Burg burg;
+        if (args.length >= 2) {
+            // remote lookup by name (works from console too)
+            String name = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
+            burg = burgManager.getBurgByName(name);
+            if (burg == null) {
+                sender.sendMessage(c("&cNo burg named &f" + name + "&c."));
+                return true;
+            }
+        } else {
+            if (!(sender instanceof Player player)) {
+                sender.sendMessage(c("&cPlayers only."));
+                return true;
+            }
+
+            burg = burgManager.getBurgByMember(player.getUniqueId());
+            if (burg == null) {
+                sender.sendMessage(c("&cYou are not in a burg."));
+                return true;
+            }
+        }
+
         sender.sendMessage(c("&6== &eBurg Info &6=="));
         sender.sendMessage(c("&eName: &f" + burg.getName()));
         sender.sendMessage(c("&eLeader: &f" + burg.getLeaderUuid()));
-        sender.sendMessage(c("&eMembers: &f" + burg.getMembers().size()));
+        sender.sendMessage(c("&eMembers: &f" + burg.getMembers().size()
+                + " &7(" + burgManager.getOnlineMemberCount(burg) + " online)"));
         sender.sendMessage(c("&eClaims: &f" + burg.getClaims().size()));
-        sender.sendMessage(c("&ePlots: &f" + burg.getPlots().size()));
+        sender.sendMessage(c("&ePlots: &f" + burg.getPlotCount()));
         return true;
     }
 
@@ -544,7 +577,6 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        burgManager.save(burg);
         sender.sendMessage(c("&aYou abdicated. &6" + nameOf(successor) + "&a is now Mayor of &f" + burg.getName()));
 
         Player succP = Bukkit.getPlayer(successor);
@@ -728,8 +760,7 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
                     return true;
                 }
 
-                plot.setOwnerUuid(target.getUniqueId());
-                burgManager.save(burg);
+                burgManager.setPlotOwner(burg, plot, target.getUniqueId());
 
                 sender.sendMessage(c("&aAssigned plot &f" + plot.getId() + " &ato &f" + target.getName()));
                 return true;
@@ -753,8 +784,7 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
                     return true;
                 }
 
-                plot.setOwnerUuid(null);
-                burgManager.save(burg);
+                burgManager.setPlotOwner(burg, plot, null);
 
                 sender.sendMessage(c("&aUnassigned plot &f" + plot.getId()));
                 return true;
@@ -797,7 +827,7 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
         }
 
         if (args.length < 2) {
-            sender.sendMessage(c("&cUsage: /" + label + " bonds <buy|redeem|list|debug>"));
+            sender.sendMessage(c("&cUsage: /" + label + " bonds <buy|redeem|list|history|debug>"));
             return true;
         }
 
@@ -853,7 +883,7 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
                             0.10,
                             72L * 60L * 60L * 1000L
                     );
-                    bondManager.saveAll();
+                    bondManager.save(bond);
 
                     sender.sendMessage(c("&aPurchased bond in &f" + burg.getName()
                             + "&a: &f" + amount + " " + currency
@@ -928,7 +958,7 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
                 bond.setRedeemed(true);
 
                 burgManager.save(burg);
-                bondManager.saveAll();
+                bondManager.save(bond);
 
                 sender.sendMessage(c("&aRedeemed bond &f" + inputId
                         + "&a for &f" + payout + " " + bond.getCurrency()));
@@ -960,6 +990,36 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
                 }
             }
 
+            case "history" -> {
+                // archived bonds are read off the main thread; reply back on it
+                UUID playerId = player.getUniqueId();
+                sender.sendMessage(c("&7Loading bond history..."));
+                bondManager.getBondHistory(playerId).thenAccept(history -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (history.isEmpty()) {
+                        sender.sendMessage(c("&eYou have never held any bonds."));
+                        return;
+                    }
+
+                    sender.sendMessage(c("&6== &eYour Bond History &6=="));
+                    for (BurgBond bond : history) {
+                        String status = bond.isRedeemed() ? "&7redeemed"
+                                : bond.isMature() ? "&amature"
+                                : "&eyielding";
+
+                        Burg bondBurg = burgManager.getBurgById(bond.getBurgId());
+                        String burgName = (bondBurg != null && bondBurg.getName() != null)
+                                ? bondBurg.getName()
+                                : bond.getBurgId();
+
+                        sender.sendMessage(c("&f" + bond.getBondId().toString().substring(0, 8)
+                                + " &7burg=&f" + burgName
+                                + " &7principal=&f" + bond.getPrincipal() + " " + bond.getCurrency()
+                                + " &7payout=&f" + bond.getPayout()
+                                + " &7status=" + status));
+                    }
+                }));
+            }
+
             case "debug" -> {
                 long debt = bondManager.getOutstandingDebt(burg.getId(), currency);
                 sender.sendMessage(c("&6== &eBond Debug &6=="));
@@ -970,7 +1030,7 @@ public class BurgCommand implements CommandExecutor, TabCompleter {
                 sender.sendMessage(c("&7Your bond count: &f" + bondManager.getPlayerBonds(player.getUniqueId()).size()));
             }
 
-            default -> sender.sendMessage(c("&cUsage: /" + label + " bonds <buy|redeem|list|debug>"));
+            default -> sender.sendMessage(c("&cUsage: /" + label + " bonds <buy|redeem|list|history|debug>"));
         }
 
         return true;
@@ -12,6 +12,7 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -47,14 +48,25 @@ public class BurgPropertyCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
+        String action = args.length == 0 ? "list" : args[0].toLowerCase(Locale.ROOT);
+
+        // "list <burg>" reads a remote burg's registry by name
+        if (action.equals("list") && args.length >= 2) {
+            String name = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
+            Burg remote = burgManager.getBurgByName(name);
+            if (remote == null) {
+                player.sendMessage("No burg named " + name + ".");
+                return true;
+            }
+            return listProperties(player, remote, false);
+        }
+
         Burg burg = burgManager.getBurgAt(player.getLocation());
         if (burg == null) {
             player.sendMessage("You must be standing inside a burg.");
             return true;
         }
 
-        String action = args.length == 0 ? "list" : args[0].toLowerCase(Locale.ROOT);
-
         return switch (action) {
             case "list" -> listProperties(player, burg, false);
             case "my" -> listProperties(player, burg, true);
@@ -140,10 +152,7 @@ public class BurgPropertyCommand implements CommandExecutor, TabCompleter {
         }
 
         String currency = burg.getAdoptedCurrencyCode();
-        plot.setSalePrice(price);
-        plot.setSaleCurrencyCode(currency);
-        plot.setForSale(true);
-        burgManager.save(burg);
+        burgManager.setPlotListing(burg, plot, true, price, currency);
 
         player.sendMessage("Listed " + plot.getName() + " [" + plot.getId() + "] for "
                 + price + " " + currency + ".");
@@ -180,8 +189,7 @@ public class BurgPropertyCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        plot.setForSale(false);
-        burgManager.save(burg);
+        burgManager.setPlotListing(burg, plot, false, plot.getSalePrice(), plot.getSaleCurrencyCode());
         player.sendMessage("Removed " + plot.getName() + " [" + plot.getId() + "] from the market.");
         return true;
     }
@@ -193,7 +201,7 @@ public class BurgPropertyCommand implements CommandExecutor, TabCompleter {
 
     private void sendUsage(Player player, String label) {
         player.sendMessage("Property commands:");
-        player.sendMessage("/" + label + " list");
+        player.sendMessage("/" + label + " list [burg]");
         player.sendMessage("/" + label + " my");
         player.sendMessage("/" + label + " sell <plotId> <price>");
         player.sendMessage("/" + label + " withdraw <plotId>");
@@ -208,6 +216,10 @@ public class BurgPropertyCommand implements CommandExecutor, TabCompleter {
                     .toList();
         }
 
+        if (args.length == 2 && args[0].equalsIgnoreCase("list")) {
+            return burgManager.findBurgNamesByPrefix(args[1], 50);
+        }
+
         if (args.length == 2 && sender instanceof Player player) {
             Burg burg = burgManager.getBurgAt(player.getLocation());
             if (burg == null) return Collections.emptyList();
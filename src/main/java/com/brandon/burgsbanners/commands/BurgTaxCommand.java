@@ -67,8 +67,7 @@ public class BurgTaxCommand implements CommandExecutor, TabCompleter {
                 }
 
                 double clamped = clamp(parsed, 0.0, Burg.MAX_SALES_TAX);
-                burg.setSalesTaxRate(clamped);
-                burgManager.save(burg);
+                burgManager.setSalesTaxRate(burg, clamped);
 
                 p.sendMessage(
                         text("Sales tax set to ", GREEN)
@@ -113,8 +112,7 @@ public class BurgTaxCommand implements CommandExecutor, TabCompleter {
                 }
 
                 double clamped = clamp(parsed, 0.0, Burg.MAX_MONEYCHANGER_FEE);
-                burg.setMoneychangerFeeRate(clamped);
-                burgManager.save(burg);
+                burgManager.setMoneychangerFeeRate(burg, clamped);
 
                 p.sendMessage(
                         text("Moneychanger fee set to ", GREEN)
@@ -0,0 +1,30 @@
+package com.brandon.burgsbanners.listeners;
+
+import com.brandon.burgsbanners.burg.BurgManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Keeps BurgManager's per-burg online member sets current.
+ */
+public class BurgPresenceListener implements Listener {
+
+    private final BurgManager burgManager;
+
+    public BurgPresenceListener(BurgManager burgManager) {
+        this.burgManager = burgManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        burgManager.playerJoined(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        burgManager.playerQuit(event.getPlayer().getUniqueId());
+    }
+}
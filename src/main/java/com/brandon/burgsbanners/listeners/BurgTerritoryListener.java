@@ -44,7 +44,7 @@ public class BurgTerritoryListener implements Listener {
         World world = to.getWorld();
         if (world == null) return;
 
-        ChunkClaim claim = ChunkClaim.fromChunk(world, to.getChunk());
+        ChunkClaim claim = ChunkClaim.fromLocation(to);
 
         Burg owner = burgManager.getBurgByClaim(claim);
         String currentBurgId = (owner == null) ? null : owner.getId();
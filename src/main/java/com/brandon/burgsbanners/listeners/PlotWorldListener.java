@@ -0,0 +1,32 @@
+package com.brandon.burgsbanners.listeners;
+
+import com.brandon.burgsbanners.burg.BurgManager;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Keeps plots' cached effective Y bounds in step with their world's build height.
+ */
+public class PlotWorldListener implements Listener {
+
+    private final BurgManager burgManager;
+
+    public PlotWorldListener(BurgManager burgManager) {
+        this.burgManager = burgManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        World world = event.getWorld();
+        burgManager.refreshPlotBounds(world.getUID(), world);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        burgManager.refreshPlotBounds(event.getWorld().getUID(), null);
+    }
+}
@@ -254,10 +254,11 @@ public class CoinsmithGUIListener implements Listener {
         // Ensure treasury UUID exists
         if (burg.getTreasuryUuid() == null) {
             burg.setTreasuryUuid(UUID.randomUUID());
+            burgManager.save(burg);
         }
 
-        // Credit BaB display ledger
-        burg.creditTreasury(code, FEE_UNITS);
+        // Credit BaB display ledger (journaled)
+        burgManager.creditTreasury(burg, code, FEE_UNITS);
 
         // Deposit into MPC treasury wallet
         boolean walletOk = false;
@@ -270,8 +271,6 @@ public class CoinsmithGUIListener implements Listener {
             walletOk = false;
         }
 
-        burgManager.save(burg);
-
         // Output preview
         gui.setItem(SLOT_OUTPUT, makePreview(currency));
 
@@ -0,0 +1,88 @@
+package com.brandon.burgsbanners.protection;
+
+import com.brandon.burgsbanners.burg.PermissionEpoch;
+import com.brandon.burgsbanners.burg.plot.Plot;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Each player's last few build-permission decisions, keyed by chunk and plot.
+ *
+ * An entry either covers its whole chunk (wilderness, the mayor's own burg, a claim with no
+ * plots in it) or one plot, which is re-checked with a single bounds test. Entries are only
+ * valid for the {@link PermissionEpoch} they were filled at, so any claim, plot, owner or
+ * leader change drops every entry at once. Main thread only.
+ */
+final class BuildPermissionCache {
+
+    private static final int SLOTS = 4;
+
+    private static final class Recent {
+        long epoch = -1;
+        int used;
+        int next;
+        final UUID[] world = new UUID[SLOTS];
+        final int[] chunkX = new int[SLOTS];
+        final int[] chunkZ = new int[SLOTS];
+        final Plot[] plot = new Plot[SLOTS];        // null = decision covers the whole chunk
+        final boolean[] allowed = new boolean[SLOTS];
+    }
+
+    private final Map<UUID, Recent> byPlayer = new HashMap<>();
+
+    /** The cached decision for this block, or null on a miss. */
+    Boolean get(UUID player, Location loc, long epoch) {
+        Recent r = byPlayer.get(player);
+        if (r == null || r.epoch != epoch) return null;
+
+        World world = loc.getWorld();
+        if (world == null) return null;
+        UUID worldId = world.getUID();
+        int cx = loc.getBlockX() >> 4;
+        int cz = loc.getBlockZ() >> 4;
+
+        for (int i = 0; i < r.used; i++) {
+            if (r.chunkX[i] != cx || r.chunkZ[i] != cz || !worldId.equals(r.world[i])) continue;
+            Plot plot = r.plot[i];
+            if (plot == null || plot.contains(loc)) return r.allowed[i];
+        }
+        return null;
+    }
+
+    /**
+     * Remembers a decision made at {@code epoch} and returns it. Pass {@code plot == null} only
+     * when the decision holds for every block in the chunk.
+     */
+    boolean put(UUID player, Location loc, long epoch, Plot plot, boolean allowed) {
+        World world = loc.getWorld();
+        if (world == null) return allowed;
+
+        Recent r = byPlayer.computeIfAbsent(player, k -> new Recent());
+        if (r.epoch != epoch) {
+            r.epoch = epoch;
+            r.used = 0;
+            r.next = 0;
+            Arrays.fill(r.plot, null);
+        }
+
+        int i = r.next;
+        r.next = (i + 1) % SLOTS;
+        if (r.used < SLOTS) r.used++;
+
+        r.world[i] = world.getUID();
+        r.chunkX[i] = loc.getBlockX() >> 4;
+        r.chunkZ[i] = loc.getBlockZ() >> 4;
+        r.plot[i] = plot;
+        r.allowed[i] = allowed;
+        return allowed;
+    }
+
+    void forget(UUID player) {
+        byPlayer.remove(player);
+    }
+}
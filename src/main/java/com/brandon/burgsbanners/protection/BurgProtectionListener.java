@@ -2,6 +2,7 @@ package com.brandon.burgsbanners.protection;
 
 import com.brandon.burgsbanners.burg.Burg;
 import com.brandon.burgsbanners.burg.BurgManager;
+import com.brandon.burgsbanners.burg.PermissionEpoch;
 import com.brandon.burgsbanners.burg.plot.Plot;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -18,9 +19,9 @@ import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.hanging.HangingBreakByEntityEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.event.block.BlockExplodeEvent;
-import org.bukkit.inventory.InventoryHolder;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,13 +30,19 @@ import java.util.UUID;
 public class BurgProtectionListener implements Listener {
 
     private final BurgManager burgManager;
+    private final ProtectedMaterials protectedMaterials;
+    private final ExplosionFilter explosionFilter;
+    private final BuildPermissionCache permissionCache = new BuildPermissionCache();
 
     // simple anti-spam for denial messages
     private final Map<UUID, Long> msgCooldown = new HashMap<>();
     private static final long MSG_COOLDOWN_MS = 1200;
 
-    public BurgProtectionListener(BurgManager burgManager) {
+    public BurgProtectionListener(BurgManager burgManager, ProtectedMaterials protectedMaterials,
+                                  ExplosionPolicy explosionPolicy) {
         this.burgManager = burgManager;
+        this.protectedMaterials = protectedMaterials;
+        this.explosionFilter = new ExplosionFilter(burgManager, explosionPolicy);
     }
 
     /* ================== CORE CHECK ================== */
@@ -45,11 +52,8 @@ public class BurgProtectionListener implements Listener {
     }
 
     private Plot findPlotAt(Burg burg, Location loc) {
-        if (burg.getPlots() == null || burg.getPlots().isEmpty()) return null;
-        for (Plot plot : burg.getPlots().values()) {
-            if (plot != null && plot.contains(loc)) return plot;
-        }
-        return null;
+        // summary check first (inside findPlotAt), then only the plots bucketed under this chunk
+        return burg.findPlotAt(loc);
     }
 
     /**
@@ -61,18 +65,33 @@ public class BurgProtectionListener implements Listener {
      *      - otherwise denied
      */
     private boolean canBuildHere(Player p, Location loc) {
+        UUID playerId = p.getUniqueId();
+        long epoch = PermissionEpoch.current();   // read before deciding, so a racing change leaves the entry stale
+        Boolean cached = permissionCache.get(playerId, loc, epoch);
+        if (cached != null) return cached;
+
         Burg burg = burgManager.getBurgAt(loc);
-        if (burg == null) return true; // wilderness
+        if (burg == null) return permissionCache.put(playerId, loc, epoch, null, true); // wilderness
 
-        if (isLeader(burg, p)) return true;
+        if (isLeader(burg, p)) return permissionCache.put(playerId, loc, epoch, null, true);
 
         Plot plot = findPlotAt(burg, loc);
         if (plot == null) {
-            return false; // claimed, but not plotted => leader only
+            // claimed, but not plotted => leader only; cacheable only if no plot shares the chunk
+            boolean wholeChunk = loc.getWorld() != null
+                    && !burg.hasPlotInChunk(loc.getWorld().getUID(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+            return wholeChunk ? permissionCache.put(playerId, loc, epoch, null, false) : false;
         }
 
         UUID owner = plot.getOwnerUuid();
-        return owner != null && owner.equals(p.getUniqueId());
+        return permissionCache.put(playerId, loc, epoch, plot, owner != null && owner.equals(playerId));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        UUID id = e.getPlayer().getUniqueId();
+        permissionCache.forget(id);
+        msgCooldown.remove(id);
     }
 
     private void deny(Player p, String msg) {
@@ -109,31 +128,16 @@ public class BurgProtectionListener implements Listener {
     public void onInteract(PlayerInteractEvent e) {
         if (e.getClickedBlock() == null) return;
 
+        // We only block meaningful interactions (containers, doors/gates, buttons/levers, config extras).
+        // Cheapest test first: one array read, before any claim lookup.
+        Material type = e.getClickedBlock().getType();
+        if (!protectedMaterials.isProtected(type)) return;
+
         Player p = e.getPlayer();
         Location loc = e.getClickedBlock().getLocation();
         Burg burg = burgManager.getBurgAt(loc);
         if (burg == null) return; // wilderness
 
-        // We only block meaningful interactions.
-        Material type = e.getClickedBlock().getType();
-
-        boolean isContainer =
-                (e.getClickedBlock().getState() instanceof InventoryHolder)
-                        || type.name().contains("CHEST")
-                        || type.name().contains("BARREL")
-                        || type.name().contains("SHULKER_BOX");
-
-        boolean isDoorOrGate =
-                type.name().contains("DOOR")
-                        || type.name().contains("TRAPDOOR")
-                        || type.name().contains("FENCE_GATE");
-
-        boolean isRedstone =
-                type.name().contains("BUTTON")
-                        || type.name().contains("LEVER");
-
-        if (!(isContainer || isDoorOrGate || isRedstone)) return;
-
         if (isLeader(burg, p)) return;
 
         Plot plot = findPlotAt(burg, loc);
@@ -192,20 +196,13 @@ public class BurgProtectionListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onEntityExplode(EntityExplodeEvent e) {
-
-        e.blockList().removeIf(block -> {
-            Burg burg = burgManager.getBurgAt(block.getLocation());
-            return burg != null; // remove blocks inside burg claims
-        });
+        // remove blocks inside burg claims (unless the burg's explosion policy allows this source)
+        explosionFilter.filter(e.blockList(), ExplosionPolicy.classify(e.getEntity()));
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockExplode(BlockExplodeEvent e) {
-
-        e.blockList().removeIf(block -> {
-            Burg burg = burgManager.getBurgAt(block.getLocation());
-            return burg != null;
-        });
+        explosionFilter.filter(e.blockList(), ExplosionPolicy.Source.BLOCK);
     }
 
 
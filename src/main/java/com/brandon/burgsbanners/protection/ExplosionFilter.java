@@ -0,0 +1,105 @@
+package com.brandon.burgsbanners.protection;
+
+import com.brandon.burgsbanners.burg.Burg;
+import com.brandon.burgsbanners.burg.BurgManager;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Removes protected blocks from an explosion's block list.
+ *
+ * Ownership is resolved once per chunk of the blast's bounding box rather than once per block,
+ * and a blast whose box holds no claimed chunk leaves the list untouched. Block coords are read
+ * directly, so no Location or ChunkClaim is built per block. Main thread only.
+ */
+final class ExplosionFilter {
+
+    // blasts spanning more chunks than this (modded mega-explosions) fall back to a per-block lookup
+    private static final int MAX_GRID_CHUNKS = 1024;
+
+    private final BurgManager burgManager;
+    private final ExplosionPolicy policy;
+
+    ExplosionFilter(BurgManager burgManager, ExplosionPolicy policy) {
+        this.burgManager = burgManager;
+        this.policy = policy;
+    }
+
+    void filter(List<Block> blocks, ExplosionPolicy.Source source) {
+        if (blocks.isEmpty()) return;
+
+        World world = blocks.get(0).getWorld();
+        if (world == null) return;
+        UUID worldId = world.getUID();
+
+        int minCx = Integer.MAX_VALUE, minCz = Integer.MAX_VALUE;
+        int maxCx = Integer.MIN_VALUE, maxCz = Integer.MIN_VALUE;
+        for (Block b : blocks) {
+            int cx = b.getX() >> 4, cz = b.getZ() >> 4;
+            if (cx < minCx) minCx = cx;
+            if (cx > maxCx) maxCx = cx;
+            if (cz < minCz) minCz = cz;
+            if (cz > maxCz) maxCz = cz;
+        }
+
+        int width = maxCx - minCx + 1;
+        int depth = maxCz - minCz + 1;
+        if ((long) width * depth > MAX_GRID_CHUNKS) {
+            filterPerBlock(blocks, worldId, source);
+            return;
+        }
+
+        // one verdict per chunk in the box: true = keep the chunk's blocks out of the blast
+        boolean[] protectedChunk = new boolean[width * depth];
+        boolean any = false;
+        for (int x = 0; x < width; x++) {
+            for (int z = 0; z < depth; z++) {
+                if (isProtected(worldId, minCx + x, minCz + z, source)) {
+                    protectedChunk[x * depth + z] = true;
+                    any = true;
+                }
+            }
+        }
+        if (!any) return;
+
+        final int originX = minCx, originZ = minCz, stride = depth;
+        blocks.removeIf(b -> protectedChunk[((b.getX() >> 4) - originX) * stride + ((b.getZ() >> 4) - originZ)]);
+    }
+
+    private void filterPerBlock(List<Block> blocks, UUID worldId, ExplosionPolicy.Source source) {
+        long[] lastKey = { Long.MIN_VALUE };
+        boolean[] lastVerdict = { false };
+        blocks.removeIf(b -> {
+            int cx = b.getX() >> 4, cz = b.getZ() >> 4;
+            long key = ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+            if (key != lastKey[0]) {
+                lastKey[0] = key;
+                lastVerdict[0] = isProtected(worldId, cx, cz, source);
+            }
+            return lastVerdict[0];
+        });
+    }
+
+    private boolean isProtected(UUID worldId, int cx, int cz, ExplosionPolicy.Source source) {
+        Burg burg = burgManager.getBurgAt(worldId, cx, cz);
+        if (burg == null) return false; // wilderness
+        if (policy.denyAll()) return true;
+
+        return switch (policy.ruleFor(burg, source)) {
+            case DENY -> true;
+            case ALLOW -> false;
+            case BORDER -> !isWildernessFacing(worldId, cx, cz);
+        };
+    }
+
+    /** True when at least one of the chunk's 4 neighbours is unclaimed. */
+    private boolean isWildernessFacing(UUID worldId, int cx, int cz) {
+        return burgManager.getBurgAt(worldId, cx + 1, cz) == null
+                || burgManager.getBurgAt(worldId, cx - 1, cz) == null
+                || burgManager.getBurgAt(worldId, cx, cz + 1) == null
+                || burgManager.getBurgAt(worldId, cx, cz - 1) == null;
+    }
+}
@@ -0,0 +1,107 @@
+package com.brandon.burgsbanners.protection;
+
+import com.brandon.burgsbanners.burg.Burg;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Creeper;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.TNTPrimed;
+import org.bukkit.entity.minecart.ExplosiveMinecart;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * What explosions may break inside burg claims, per explosion source.
+ *
+ * Defaults come from protection.explosions.default; protection.explosions.burgs.&lt;name or id&gt;
+ * overrides single sources for one burg. Anything not configured is DENY (the old behaviour).
+ */
+public final class ExplosionPolicy {
+
+    public enum Source { CREEPER, TNT, BLOCK, OTHER }
+
+    public enum Rule {
+        /** Claimed blocks are never broken. */
+        DENY,
+        /** Claimed blocks break as in wilderness. */
+        ALLOW,
+        /** Only claims with a neighbour chunk outside the burg (wilderness-facing edge) take damage. */
+        BORDER
+    }
+
+    private final EnumMap<Source, Rule> defaults;
+    private final Map<String, EnumMap<Source, Rule>> overrides;   // lowercased burg name or id
+    private final boolean denyAll;
+
+    private ExplosionPolicy(EnumMap<Source, Rule> defaults, Map<String, EnumMap<Source, Rule>> overrides) {
+        this.defaults = defaults;
+        this.overrides = overrides;
+
+        boolean deny = true;
+        for (Rule r : defaults.values()) if (r != Rule.DENY) deny = false;
+        for (EnumMap<Source, Rule> o : overrides.values()) {
+            for (Rule r : o.values()) if (r != Rule.DENY) deny = false;
+        }
+        this.denyAll = deny;
+    }
+
+    public static ExplosionPolicy build(ConfigurationSection config, Logger logger) {
+        EnumMap<Source, Rule> defaults = new EnumMap<>(Source.class);
+        for (Source s : Source.values()) defaults.put(s, Rule.DENY);
+
+        Map<String, EnumMap<Source, Rule>> overrides = new HashMap<>();
+        ConfigurationSection root = (config == null) ? null : config.getConfigurationSection("protection.explosions");
+        if (root == null) return new ExplosionPolicy(defaults, overrides);
+
+        readRules(root.getConfigurationSection("default"), defaults, "protection.explosions.default", logger);
+
+        ConfigurationSection burgs = root.getConfigurationSection("burgs");
+        if (burgs != null) {
+            for (String key : burgs.getKeys(false)) {
+                EnumMap<Source, Rule> rules = new EnumMap<>(defaults);
+                readRules(burgs.getConfigurationSection(key), rules, "protection.explosions.burgs." + key, logger);
+                overrides.put(key.toLowerCase(Locale.ROOT), rules);
+            }
+        }
+        return new ExplosionPolicy(defaults, overrides);
+    }
+
+    private static void readRules(ConfigurationSection cs, EnumMap<Source, Rule> into, String path, Logger logger) {
+        if (cs == null) return;
+        for (String key : cs.getKeys(false)) {
+            Source source;
+            Rule rule;
+            try {
+                source = Source.valueOf(key.trim().toUpperCase(Locale.ROOT));
+                rule = Rule.valueOf(String.valueOf(cs.getString(key)).trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                logger.warning(path + "." + key + ": expected one of creeper/tnt/block/other = deny/allow/border");
+                continue;
+            }
+            into.put(source, rule);
+        }
+    }
+
+    public static Source classify(Entity entity) {
+        if (entity instanceof Creeper) return Source.CREEPER;
+        if (entity instanceof TNTPrimed || entity instanceof ExplosiveMinecart) return Source.TNT;
+        return Source.OTHER;
+    }
+
+    /** True when every burg denies every source, so no border checks are ever needed. */
+    public boolean denyAll() {
+        return denyAll;
+    }
+
+    public Rule ruleFor(Burg burg, Source source) {
+        if (!overrides.isEmpty()) {
+            EnumMap<Source, Rule> o = overrides.get(burg.getId().toLowerCase(Locale.ROOT));
+            if (o == null && burg.getName() != null) o = overrides.get(burg.getName().toLowerCase(Locale.ROOT));
+            if (o != null) return o.get(source);
+        }
+        return defaults.get(source);
+    }
+}
@@ -0,0 +1,113 @@
+package com.brandon.burgsbanners.protection;
+
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.type.Barrel;
+import org.bukkit.block.data.type.BrewingStand;
+import org.bukkit.block.data.type.Chest;
+import org.bukkit.block.data.type.ChiseledBookshelf;
+import org.bukkit.block.data.type.Crafter;
+import org.bukkit.block.data.type.DecoratedPot;
+import org.bukkit.block.data.type.Dispenser;
+import org.bukkit.block.data.type.Door;
+import org.bukkit.block.data.type.Furnace;
+import org.bukkit.block.data.type.Gate;
+import org.bukkit.block.data.type.Hopper;
+import org.bukkit.block.data.type.Jukebox;
+import org.bukkit.block.data.type.Lectern;
+import org.bukkit.block.data.type.Switch;
+import org.bukkit.block.data.type.TrapDoor;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Which clicked blocks count as protected interactions, precomputed once per Material.
+ *
+ * Built at startup from tags and BlockData types (containers, doors/gates, buttons/levers),
+ * plus protection.extraInteractMaterials from config. A lookup is one array read by ordinal;
+ * no tile-state snapshot and no name scans on the click path.
+ */
+public final class ProtectedMaterials {
+
+    public static final byte CONTAINER = 1;
+    public static final byte DOOR = 1 << 1;       // doors, trapdoors, fence gates
+    public static final byte REDSTONE = 1 << 2;   // buttons, levers
+    public static final byte EXTRA = 1 << 3;      // added by config
+
+    private final byte[] flags;
+
+    private ProtectedMaterials(byte[] flags) {
+        this.flags = flags;
+    }
+
+    public static ProtectedMaterials build(ConfigurationSection config, Logger logger) {
+        Material[] all = Material.values();
+        byte[] flags = new byte[all.length];
+
+        for (Material m : all) {
+            if (!m.isBlock() || m.isLegacy()) continue;
+            flags[m.ordinal()] = classify(m);
+        }
+
+        List<String> extra = (config == null) ? List.of() : config.getStringList("protection.extraInteractMaterials");
+        for (String name : extra) {
+            Material m = (name == null) ? null : Material.matchMaterial(name.trim().toUpperCase(Locale.ROOT));
+            if (m == null) {
+                logger.warning("protection.extraInteractMaterials: unknown material '" + name + "'");
+                continue;
+            }
+            flags[m.ordinal()] |= EXTRA;
+        }
+
+        return new ProtectedMaterials(flags);
+    }
+
+    public boolean isProtected(Material type) {
+        return type != null && flags[type.ordinal()] != 0;
+    }
+
+    public boolean is(Material type, byte flag) {
+        return type != null && (flags[type.ordinal()] & flag) != 0;
+    }
+
+    private static byte classify(Material m) {
+        byte f = 0;
+
+        BlockData data;
+        try {
+            data = m.createBlockData();
+        } catch (RuntimeException e) {
+            data = null;
+        }
+
+        // containers: block entities with an inventory
+        if (data instanceof Chest || data instanceof Barrel || data instanceof Furnace
+                || data instanceof Hopper || data instanceof Dispenser || data instanceof BrewingStand
+                || data instanceof Lectern || data instanceof ChiseledBookshelf || data instanceof Crafter
+                || data instanceof DecoratedPot || data instanceof Jukebox
+                || Tag.SHULKER_BOXES.isTagged(m)) {
+            f |= CONTAINER;
+        }
+
+        if (data instanceof Door || data instanceof TrapDoor || data instanceof Gate
+                || Tag.DOORS.isTagged(m) || Tag.TRAPDOORS.isTagged(m) || Tag.FENCE_GATES.isTagged(m)) {
+            f |= DOOR;
+        }
+
+        if (data instanceof Switch || Tag.BUTTONS.isTagged(m)) {
+            f |= REDSTONE;
+        }
+
+        // keep the historical name rules so nothing that was protected before stops being protected
+        String name = m.name();
+        if (name.contains("CHEST") || name.contains("BARREL") || name.contains("SHULKER_BOX")) f |= CONTAINER;
+        if (name.contains("DOOR") || name.contains("FENCE_GATE")) f |= DOOR;
+        if (name.contains("BUTTON") || name.contains("LEVER")) f |= REDSTONE;
+
+        return f;
+    }
+}
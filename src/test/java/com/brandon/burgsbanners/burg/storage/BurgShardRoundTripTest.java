@@ -0,0 +1,188 @@
+package com.brandon.burgsbanners.burg.storage;
+
+import com.brandon.burgsbanners.burg.Burg;
+import com.brandon.burgsbanners.burg.ChunkClaim;
+import com.brandon.burgsbanners.burg.plot.Plot;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A burg written as a YAML shard, converted to binary by a load with storage.format: binary,
+ * and back to YAML by a load with storage.format: yaml, must come out unchanged.
+ */
+class BurgShardRoundTripTest {
+
+    private static final UUID OVERWORLD = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID NETHER = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @TempDir
+    File dataFolder;
+
+    @Test
+    void yamlToBinaryToYamlKeepsEverything() {
+        Burg original = sampleBurg();
+        File shards = new File(dataFolder, "burgs");
+
+        BurgStorage yaml = storage("yaml");
+        assertTrue(yaml.write(yaml.capture(original)));
+        assertTrue(new File(shards, "oakford.yml").exists());
+
+        Map<String, Burg> asBinary = storage("binary").loadAll();
+        assertTrue(new File(shards, "oakford.bin").exists());
+        assertFalse(new File(shards, "oakford.yml").exists());
+        assertSameBurg(sampleBurg(), asBinary.get("oakford"));
+
+        Map<String, Burg> backToYaml = storage("yaml").loadAll();
+        assertTrue(new File(shards, "oakford.yml").exists());
+        assertFalse(new File(shards, "oakford.bin").exists());
+        assertSameBurg(sampleBurg(), backToYaml.get("oakford"));
+    }
+
+    @Test
+    void savingUnbuiltPlotsWritesThemBackUnbuilt() {
+        for (String format : List.of("yaml", "binary")) {
+            BurgStorage storage = storage(format);
+            assertTrue(storage.write(storage.capture(sampleBurg())));
+
+            Burg loaded = storage.loadAll().get("oakford");
+            assertFalse(loaded.arePlotsLoaded(), format);
+            assertTrue(storage.write(storage.capture(loaded)));
+            assertFalse(loaded.arePlotsLoaded(), format);
+
+            assertSameBurg(sampleBurg(), storage(format).loadAll().get("oakford"));
+        }
+    }
+
+    @Test
+    void summarizePlotsRejectsTruncatedBlock() throws IOException {
+        byte[] block = BurgBinaryCodec.encodePlots(sampleBurg().getPlots().values());
+        assertEquals(3, BurgBinaryCodec.summarizePlots(block).plotCount());
+
+        // cut inside the last plot's lien holder uuid, which the summary only skips over
+        byte[] truncated = Arrays.copyOf(block, block.length - 8);
+        assertThrows(IOException.class, () -> BurgBinaryCodec.summarizePlots(truncated));
+    }
+
+    // ===== Fixtures =====
+
+    private BurgStorage storage(String format) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("storage.format", format);
+        config.set("storage.loadThreads", 1);
+
+        JavaPlugin plugin = mock(JavaPlugin.class);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        when(plugin.getConfig()).thenReturn(config);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("BurgShardRoundTripTest"));
+        return new BurgStorage(plugin);
+    }
+
+    /** Built fresh each call so the expected side never shares state with what was stored. */
+    private static Burg sampleBurg() {
+        Burg b = new Burg("oakford");
+        b.setName("Oakford");
+        b.setLeaderUuid(UUID.fromString("11111111-1111-1111-1111-111111111111"));
+        b.setRulerTitle("Reeve");
+        b.setAdoptedCurrencyCode("SHEKEL");
+        b.setTreasuryUuid(UUID.fromString("22222222-2222-2222-2222-222222222222"));
+        b.setSalesTaxRate(0.05);
+        b.setMoneychangerFeeRate(0.02);
+        b.setHome(OVERWORLD, 120, 64, -340);
+
+        b.addMember(UUID.fromString("11111111-1111-1111-1111-111111111111"));
+        b.addMember(UUID.fromString("33333333-3333-3333-3333-333333333333"));
+
+        // claims in two worlds, including negative chunk coords
+        b.addClaim(ChunkClaim.of(OVERWORLD, 7, -22));
+        b.addClaim(ChunkClaim.of(OVERWORLD, 8, -22));
+        b.addClaim(ChunkClaim.of(NETHER, -1, 3));
+
+        b.setTreasuryBalance("SHEKEL", 1_250L);
+        b.setTreasuryBalance("DENAR", 40L);
+
+        b.setBaseFoodCapacity(18.5);
+        b.setLastFoodPoints(12.25);
+        b.setLastScanEpochSeconds(1_700_000_000L);
+
+        // no owner, no lien
+        Plot market = new Plot(UUID.fromString("44444444-4444-4444-4444-444444444444"), "market", "Market Row",
+                OVERWORLD, 112, 60, -352, 127, 80, -337);
+        market.setForSale(true);
+        market.setSalePrice(300L);
+        market.setSaleCurrencyCode("DENAR");
+        b.putPlot(market);
+
+        // owner only
+        Plot mill = new Plot(UUID.fromString("55555555-5555-5555-5555-555555555555"), "mill", "Mill",
+                OVERWORLD, 128, 60, -352, 143, 90, -337);
+        mill.setOwnerUuid(UUID.fromString("33333333-3333-3333-3333-333333333333"));
+        b.putPlot(mill);
+
+        // owner and lien, in the other world
+        Plot forge = new Plot(UUID.fromString("66666666-6666-6666-6666-666666666666"), "forge", "Forge",
+                NETHER, -16, 30, 48, -1, 50, 63);
+        forge.setOwnerUuid(UUID.fromString("33333333-3333-3333-3333-333333333333"));
+        forge.setLienHolderUuid(UUID.fromString("22222222-2222-2222-2222-222222222222"));
+        b.putPlot(forge);
+
+        return b;
+    }
+
+    private static void assertSameBurg(Burg expected, Burg actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getPolityStage(), actual.getPolityStage());
+        assertEquals(expected.getLeaderUuid(), actual.getLeaderUuid());
+        assertEquals(expected.getRulerTitle(), actual.getRulerTitle());
+        assertEquals(expected.getAdoptedCurrencyCode(), actual.getAdoptedCurrencyCode());
+        assertEquals(expected.getTreasuryUuid(), actual.getTreasuryUuid());
+        assertEquals(expected.getSalesTaxRate(), actual.getSalesTaxRate());
+        assertEquals(expected.getMoneychangerFeeRate(), actual.getMoneychangerFeeRate());
+
+        assertEquals(expected.getWorldId(), actual.getWorldId());
+        assertEquals(expected.getHomeX(), actual.getHomeX());
+        assertEquals(expected.getHomeY(), actual.getHomeY());
+        assertEquals(expected.getHomeZ(), actual.getHomeZ());
+
+        assertEquals(expected.getMembers(), actual.getMembers());
+        assertEquals(expected.getClaims(), actual.getClaims());
+        assertEquals(expected.getTreasuryBalances(), actual.getTreasuryBalances());
+
+        assertEquals(expected.getBaseFoodCapacity(), actual.getBaseFoodCapacity());
+        assertEquals(expected.getLastFoodPoints(), actual.getLastFoodPoints());
+        assertEquals(expected.getLastScanEpochSeconds(), actual.getLastScanEpochSeconds());
+
+        // the count comes from the lazy summary, the plots from the decoded block: both must agree
+        assertEquals(expected.getPlotCount(), actual.getPlotCount());
+        Map<String, Plot> actualPlots = actual.getPlots();
+        assertEquals(expected.getPlots().keySet(), actualPlots.keySet());
+        for (Plot e : expected.getPlots().values()) {
+            Plot a = actualPlots.get(e.getId());
+            assertEquals(e.getPlotUuid(), a.getPlotUuid());
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getWorldId(), a.getWorldId());
+            assertEquals(List.of(e.getMinX(), e.getStoredMinY(), e.getMinZ(), e.getMaxX(), e.getStoredMaxY(), e.getMaxZ()),
+                    List.of(a.getMinX(), a.getStoredMinY(), a.getMinZ(), a.getMaxX(), a.getStoredMaxY(), a.getMaxZ()));
+            assertEquals(e.isForSale(), a.isForSale());
+            assertEquals(e.getSalePrice(), a.getSalePrice());
+            assertEquals(e.getSaleCurrencyCode(), a.getSaleCurrencyCode());
+            assertEquals(e.getOwnerUuid(), a.getOwnerUuid());
+            assertEquals(e.getLienHolderUuid(), a.getLienHolderUuid());
+        }
+    }
+}